@@ -0,0 +1,55 @@
+package org.itsallcode.holidays.calculator.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.itsallcode.holidays.calculator.logic.HolidaySet;
+import org.itsallcode.holidays.calculator.logic.cache.YearCacheBuilder;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+
+/**
+ * Access to the configuration files shipped in directory {@code holidays}. The
+ * build passes the location of the directory in system property
+ * {@value #DIRECTORY_PROPERTY}.
+ */
+final class ConfigurationFiles {
+
+	static final String DIRECTORY_PROPERTY = "holidays.dir";
+
+	record File(String name, byte[] content) {
+	}
+
+	private ConfigurationFiles() {
+	}
+
+	static Path directory() {
+		return Paths.get(System.getProperty(DIRECTORY_PROPERTY, "holidays"));
+	}
+
+	static List<File> readAll() throws IOException {
+		final List<File> result = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory())) {
+			for (final Path path : files.filter(f -> f.toString().endsWith(".cfg")).sorted().toList()) {
+				result.add(new File(path.getFileName().toString(), Files.readAllBytes(path)));
+			}
+		}
+		return result;
+	}
+
+	static List<Holiday> read(final String name) throws IOException {
+		try (InputStream stream = Files.newInputStream(directory().resolve(name))) {
+			return new HolidaysFileParser(name).parse(stream);
+		}
+	}
+
+	static HolidaySet holidaySet(final String name, final YearCacheBuilder cacheBuilder) throws IOException {
+		return new HolidaySet(read(name), cacheBuilder);
+	}
+}
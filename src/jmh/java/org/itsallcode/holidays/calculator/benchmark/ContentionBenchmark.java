@@ -0,0 +1,52 @@
+package org.itsallcode.holidays.calculator.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.itsallcode.holidays.calculator.logic.HolidaySet;
+import org.itsallcode.holidays.calculator.logic.cache.YearCacheBuilder;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Multiple threads looking up holidays in a shared {@link HolidaySet}. With a
+ * small range of years all threads hit the cache, with a large range of years
+ * the bounded cache evicts years and threads compete for computing them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ContentionBenchmark {
+
+	private static final LocalDate FIRST_DATE = LocalDate.of(2000, 1, 1);
+
+	@Param({ "concurrent", "bounded" })
+	public String cache;
+
+	@Param({ "10", "1000" })
+	public int years;
+
+	private HolidaySet holidaySet;
+	private int days;
+
+	@Setup
+	public void setup() throws IOException {
+		final YearCacheBuilder builder = "bounded".equals(cache)
+				? new YearCacheBuilder().withMaximumSize(100)
+				: new YearCacheBuilder().concurrent();
+		holidaySet = ConfigurationFiles.holidaySet("Bavaria.cfg", builder);
+		days = (int) (FIRST_DATE.plusYears(years).toEpochDay() - FIRST_DATE.toEpochDay());
+	}
+
+	@Benchmark
+	public List<Holiday> sharedLookup() {
+		return holidaySet.instances(FIRST_DATE.plusDays(ThreadLocalRandom.current().nextInt(days)));
+	}
+}
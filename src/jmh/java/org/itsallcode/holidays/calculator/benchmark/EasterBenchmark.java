@@ -0,0 +1,49 @@
+package org.itsallcode.holidays.calculator.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.itsallcode.holidays.calculator.logic.Easter;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Calculation of Easter Sunday and Orthodox Easter Sunday for changing years.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EasterBenchmark {
+
+	private static final int FIRST_YEAR = 1900;
+	private static final int YEARS = 200;
+
+	private int index;
+
+	private int nextYear() {
+		index = (index + 1) % YEARS;
+		return FIRST_YEAR + index;
+	}
+
+	@Benchmark
+	public LocalDate gauss() {
+		return Easter.gauss(nextYear());
+	}
+
+	@Benchmark
+	public LocalDate orthodox() {
+		return Easter.orthodox(nextYear());
+	}
+
+	@Benchmark
+	public long gaussEpochDay() {
+		return Easter.gaussEpochDay(nextYear());
+	}
+
+	@Benchmark
+	public long orthodoxEpochDay() {
+		return Easter.orthodoxEpochDay(nextYear());
+	}
+}
@@ -0,0 +1,43 @@
+package org.itsallcode.holidays.calculator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.itsallcode.holidays.calculator.logic.parser.HolidayParser;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Parsing a single line of a configuration file for each type of holiday
+ * definition.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HolidayParserBenchmark {
+
+	@Param({
+			"holiday fixed 1 1 New Year's Day",
+			"holiday float 4 SUN before 12 24 First Sunday of Advent",
+			"holiday float 1 MON before 6 1 +3 Day after Whit Monday",
+			"holiday easter -2 Good Friday",
+			"holiday orthodox-easter +9 Radonitsa",
+			"holiday if JAN 1 is Sat then fixed Jan 3 New Year's Day Bank Holiday",
+			"holiday either fixed 4 27 or if SUN then fixed 4 26 King's Day",
+			"illegal line" })
+	public String line;
+
+	private HolidayParser parser;
+
+	@Setup
+	public void setup() {
+		parser = new HolidayParser();
+	}
+
+	@Benchmark
+	public Holiday parse() {
+		return parser.parse(line);
+	}
+}
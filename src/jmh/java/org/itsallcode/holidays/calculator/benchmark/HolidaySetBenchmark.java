@@ -0,0 +1,58 @@
+package org.itsallcode.holidays.calculator.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.itsallcode.holidays.calculator.logic.HolidaySet;
+import org.itsallcode.holidays.calculator.logic.cache.YearCacheBuilder;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Looking up the holidays on a date with a cold cache, i.e. the instances of
+ * the year need to be computed, and with a warm cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HolidaySetBenchmark {
+
+	private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+	private static final int DAYS = 3653;
+
+	@Param({ "Bavaria.cfg", "UK.cfg" })
+	public String file;
+
+	private List<Holiday> definitions;
+	private HolidaySet warm;
+	private int index;
+
+	@Setup
+	public void setup() throws IOException {
+		definitions = ConfigurationFiles.read(file);
+		warm = new HolidaySet(definitions);
+		for (int i = 0; i < DAYS; i++) {
+			warm.instances(FIRST_DATE.plusDays(i));
+		}
+	}
+
+	private LocalDate nextDate() {
+		index = (index + 1) % DAYS;
+		return FIRST_DATE.plusDays(index);
+	}
+
+	@Benchmark
+	public List<Holiday> coldCache() {
+		return new HolidaySet(definitions, new YearCacheBuilder()).instances(nextDate());
+	}
+
+	@Benchmark
+	public List<Holiday> warmCache() {
+		return warm.instances(nextDate());
+	}
+}
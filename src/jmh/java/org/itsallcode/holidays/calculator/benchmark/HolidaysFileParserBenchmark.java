@@ -0,0 +1,51 @@
+package org.itsallcode.holidays.calculator.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing the configuration files shipped in directory {@code holidays}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HolidaysFileParserBenchmark {
+
+	@Param({ "Bavaria.cfg", "UK.cfg", "USA.cfg", "Ukraine.cfg" })
+	public String file;
+
+	private byte[] content;
+	private List<ConfigurationFiles.File> all;
+
+	@Setup
+	public void setup() throws IOException {
+		all = ConfigurationFiles.readAll();
+		content = all.stream()
+				.filter(f -> f.name().equals(file))
+				.findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Unknown configuration file " + file))
+				.content();
+	}
+
+	@Benchmark
+	public List<Holiday> parseFile() throws IOException {
+		return new HolidaysFileParser(file).parse(new ByteArrayInputStream(content));
+	}
+
+	@Benchmark
+	public void parseAllFiles(final Blackhole blackhole) throws IOException {
+		for (final ConfigurationFiles.File f : all) {
+			blackhole.consume(new HolidaysFileParser(f.name()).parse(new ByteArrayInputStream(f.content())));
+		}
+	}
+}
@@ -0,0 +1,336 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Calendar of business days, i.e. all days that are neither on a weekend nor a
+ * holiday of a {@link HolidayCalendar}, e.g. a {@link HolidaySet}.
+ *
+ * <p>
+ * The calendar stores the cumulative number of business days before each year
+ * for a contiguous range of years that is extended on demand in both
+ * directions. Inside a year business days are counted from the number of days
+ * of the week that are not on a weekend minus the holidays on these days.
+ * Counting business days between two dates and adding business days to a date
+ * therefore take constant or logarithmic time independent of the number of
+ * days and years in between.
+ * </p>
+ *
+ * <p>
+ * Only the years of the dates of a query are taken from the cache of the
+ * holiday calendar. The years needed only for extending the cumulative counts
+ * are computed without adding them to the cache if they are not cached yet.
+ * </p>
+ *
+ * <p>
+ * A business calendar can be shared between multiple threads if its holiday
+ * calendar can, see {@link org.itsallcode.holidays.calculator.logic.cache.YearCacheBuilder#concurrent()}.
+ * </p>
+ */
+public class BusinessCalendar {
+
+	private static final Set<DayOfWeek> DEFAULT_WEEKEND = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+	private final HolidayCalendar holidays;
+	private final Set<DayOfWeek> weekend;
+	private final boolean[] isWeekend = new boolean[8];
+	/** Number of days in each week that are not on a weekend */
+	private final int workdaysPerWeek;
+	private final Object growLock = new Object();
+	private volatile Window window;
+
+	/**
+	 * Create a new business calendar with Saturday and Sunday as weekend.
+	 *
+	 * @param holidays holidays that are not business days
+	 */
+	public BusinessCalendar(final HolidayCalendar holidays) {
+		this(holidays, DEFAULT_WEEKEND);
+	}
+
+	/**
+	 * Create a new business calendar.
+	 *
+	 * @param holidays holidays that are not business days
+	 * @param weekend  days of the week that are not business days
+	 */
+	public BusinessCalendar(final HolidayCalendar holidays, final Collection<DayOfWeek> weekend) {
+		this.weekend = EnumSet.noneOf(DayOfWeek.class);
+		this.weekend.addAll(weekend);
+		if (this.weekend.size() == 7) {
+			throw new IllegalArgumentException("Argument weekend must not contain all days of the week");
+		}
+		this.holidays = holidays;
+		for (final DayOfWeek day : this.weekend) {
+			this.isWeekend[day.getValue()] = true;
+		}
+		this.workdaysPerWeek = 7 - this.weekend.size();
+	}
+
+	/**
+	 * @return days of the week that are not business days
+	 */
+	public Set<DayOfWeek> getWeekend() {
+		return EnumSet.copyOf(weekend);
+	}
+
+	/**
+	 * @param date date to check
+	 * @return {@code true} if the given date is neither on a weekend nor a holiday
+	 */
+	public boolean isBusinessDay(final LocalDate date) {
+		return !isWeekend[date.getDayOfWeek().getValue()] && holidays.instances(date).isEmpty();
+	}
+
+	/**
+	 * Count the business days between two dates.
+	 *
+	 * @param from first date, inclusive
+	 * @param to   last date, exclusive
+	 * @return number of business days on or after {@code from} and before
+	 *         {@code to}. If {@code to} is before {@code from} then the result is
+	 *         the negated number of business days on or after {@code to} and
+	 *         before {@code from}.
+	 */
+	public long businessDaysBetween(final LocalDate from, final LocalDate to) {
+		final Window w = cover(Math.min(from.getYear(), to.getYear()), Math.max(from.getYear(), to.getYear()));
+		return businessDaysBefore(w, to.toEpochDay(), to.getYear())
+				- businessDaysBefore(w, from.toEpochDay(), from.getYear());
+	}
+
+	/**
+	 * Add business days to a date.
+	 *
+	 * @param date start date
+	 * @param n    number of business days to add, may be negative
+	 * @return the n-th business day after the given date if n is positive, the
+	 *         n-th business day before the given date if n is negative and the
+	 *         given date itself if n is zero
+	 */
+	public LocalDate addBusinessDays(final LocalDate date, final long n) {
+		if (n == 0) {
+			return date;
+		}
+		final long epochDay = date.toEpochDay();
+		final int year = date.getYear();
+		Window w = cover(year, year);
+		int yearsWithoutBusinessDays = 0;
+		while (true) {
+			// index of the wanted business day counted from the start of the window
+			final long target = n > 0 ? businessDaysBefore(w, epochDay + 1, year) + n - 1
+					: businessDaysBefore(w, epochDay, year) + n;
+			if (target >= 0 && target < w.total()) {
+				final int index = w.yearIndex(target);
+				final int targetYear = w.firstYear + index;
+				return LocalDate.ofEpochDay(select(holidays.year(targetYear), targetYear, target - w.offsets[index]));
+			}
+			final Window previous = w;
+			if (target < 0) {
+				w = cover(w.firstYear - yearsFor(-target), w.lastYear());
+			} else {
+				w = cover(w.firstYear, w.lastYear() + yearsFor(target - w.total() + 1));
+			}
+			if (w.total() > previous.total()) {
+				yearsWithoutBusinessDays = 0;
+			} else {
+				yearsWithoutBusinessDays += w.years() - previous.years();
+				if (yearsWithoutBusinessDays > HolidayCalendar.SEARCH_HORIZON_YEARS) {
+					throw new IllegalStateException("No business day within " + HolidayCalendar.SEARCH_HORIZON_YEARS
+							+ " years " + (n > 0 ? "after " : "before ") + date);
+				}
+			}
+		}
+	}
+
+	private static int yearsFor(final long businessDays) {
+		// at least one business day per week
+		return (int) Math.min(Integer.MAX_VALUE / 2, businessDays / 52 + 1);
+	}
+
+	/**
+	 * @param w        window covering the year
+	 * @param epochDay day inside the year or the first day of the next year
+	 * @param year     year
+	 * @return number of business days in the window before the specified day
+	 */
+	private long businessDaysBefore(final Window w, final long epochDay, final int year) {
+		final long firstDay = EpochDays.of(year, 1, 1);
+		final long workdays = workdaysBetween(firstDay, epochDay);
+		if (workdays == 0) {
+			return w.offsets[year - w.firstYear];
+		}
+		return w.offsets[year - w.firstYear] + workdays - closedWorkdays(holidays.year(year), epochDay);
+	}
+
+	private Window cover(final int fromYear, final int toYear) {
+		final Window current = window;
+		if (current != null && current.covers(fromYear, toYear)) {
+			return current;
+		}
+		synchronized (growLock) {
+			final Window w = window;
+			if (w != null && w.covers(fromYear, toYear)) {
+				return w;
+			}
+			final Window grown = w == null ? new Window(fromYear, toYear, null, this)
+					: new Window(Math.min(fromYear, w.firstYear), Math.max(toYear, w.lastYear()), w, this);
+			window = grown;
+			return grown;
+		}
+	}
+
+	/**
+	 * @param year year
+	 * @return number of business days in the year, computing its holidays without
+	 *         adding them to the cache of the holiday calendar
+	 */
+	private long yearTotal(final int year) {
+		final long nextYear = EpochDays.of(year + 1, 1, 1);
+		return workdaysBetween(EpochDays.of(year, 1, 1), nextYear) - closedWorkdays(holidays.peekYear(year), nextYear);
+	}
+
+	/**
+	 * @param instances holidays of a year
+	 * @param epochDay  day inside the year or the first day of the next year
+	 * @return number of days with a holiday that are not on a weekend in the year
+	 *         before the specified day
+	 */
+	private long closedWorkdays(final YearInstances instances, final long epochDay) {
+		final int end = instances.firstIndexOnOrAfter(epochDay);
+		long count = 0;
+		long previous = Long.MIN_VALUE;
+		for (int i = 0; i < end; i++) {
+			final long holiday = instances.epochDay(i);
+			if (holiday != previous && !isWeekend[EpochDays.dayOfWeek(holiday)]) {
+				count++;
+			}
+			previous = holiday;
+		}
+		return count;
+	}
+
+	/**
+	 * @param instances holidays of the year
+	 * @param year      year
+	 * @param rank      index of a business day in the year
+	 * @return epoch day of the business day
+	 */
+	private long select(final YearInstances instances, final int year, final long rank) {
+		final long firstDay = EpochDays.of(year, 1, 1);
+		// the wanted day is the (rank + closed)-th day not on a weekend, with closed
+		// being the number of holidays not on a weekend up to this day
+		long closed = 0;
+		while (true) {
+			final long day = workday(firstDay, rank + closed);
+			final long closedUpToDay = closedWorkdays(instances, day + 1);
+			if (closedUpToDay == closed) {
+				return day;
+			}
+			closed = closedUpToDay;
+		}
+	}
+
+	/**
+	 * @param from  first day
+	 * @param index index of the wanted day not on a weekend, starting with 0
+	 * @return the index-th day not on a weekend on or after the first day
+	 */
+	private long workday(final long from, final long index) {
+		long day = nextWorkday(from + 7 * (index / workdaysPerWeek));
+		for (long i = index % workdaysPerWeek; i > 0; i--) {
+			day = nextWorkday(day + 1);
+		}
+		return day;
+	}
+
+	/**
+	 * @param from first day, inclusive
+	 * @param to   last day, exclusive
+	 * @return number of days not on a weekend between the two days
+	 */
+	private long workdaysBetween(final long from, final long to) {
+		final long weeks = (to - from) / 7;
+		long count = weeks * workdaysPerWeek;
+		for (long day = from + weeks * 7; day < to; day++) {
+			if (!isWeekend[EpochDays.dayOfWeek(day)]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @param epochDay day to start from, inclusive
+	 * @return first day on or after the given day that is not on a weekend
+	 */
+	private long nextWorkday(final long epochDay) {
+		long day = epochDay;
+		while (isWeekend[EpochDays.dayOfWeek(day)]) {
+			day++;
+		}
+		return day;
+	}
+
+	/**
+	 * Immutable cumulative business day counts for a contiguous range of years.
+	 * Growing the range creates a new window reusing the counts of the years
+	 * already covered.
+	 */
+	private static final class Window {
+		private final int firstYear;
+		/** Number of business days in the window before each year and after the last year */
+		private final long[] offsets;
+
+		Window(final int firstYear, final int lastYear, final Window previous, final BusinessCalendar calendar) {
+			final int n = lastYear - firstYear + 1;
+			this.firstYear = firstYear;
+			this.offsets = new long[n + 1];
+			for (int i = 0; i < n; i++) {
+				final int year = firstYear + i;
+				final long total = previous != null && previous.covers(year, year)
+						? previous.offsets[year - previous.firstYear + 1] - previous.offsets[year - previous.firstYear]
+						: calendar.yearTotal(year);
+				offsets[i + 1] = offsets[i] + total;
+			}
+		}
+
+		int years() {
+			return offsets.length - 1;
+		}
+
+		int lastYear() {
+			return firstYear + years() - 1;
+		}
+
+		boolean covers(final int fromYear, final int toYear) {
+			return fromYear >= firstYear && toYear <= lastYear();
+		}
+
+		long total() {
+			return offsets[years()];
+		}
+
+		/**
+		 * @param rank index of a business day in the window, {@code 0 <= rank < total()}
+		 * @return index of the year containing the business day
+		 */
+		int yearIndex(final long rank) {
+			// last year with offset <= rank
+			int low = 0;
+			int high = years() - 1;
+			while (low < high) {
+				final int mid = (low + high + 1) >>> 1;
+				if (offsets[mid] <= rank) {
+					low = mid;
+				} else {
+					high = mid - 1;
+				}
+			}
+			return low;
+		}
+	}
+}
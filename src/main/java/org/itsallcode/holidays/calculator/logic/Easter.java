@@ -26,6 +26,35 @@ public class Easter {
 	 * @return Easter Sunday in the specified year.
 	 */
 	public static LocalDate gauss(int year) {
+		final int es = gaussMarchDay(year);
+		final int easterMonth = 2 + (es + 30) / 31;
+		final int easterDay = es - 31 * (easterMonth / 4);
+		return LocalDate.of(year, easterMonth, easterDay);
+	}
+
+	/**
+	 * Calculate Easter Sunday without allocating any objects, see
+	 * {@link #gauss(int)}.
+	 *
+	 * @param year Year to calculate Easter Sunday for.
+	 * @return Easter Sunday in the specified year as epoch day.
+	 */
+	public static long gaussEpochDay(int year) {
+		return EpochDays.of(year, 3, gaussMarchDay(year));
+	}
+
+	/**
+	 * @param year Year to calculate Easter Sunday for.
+	 * @return Easter Sunday as day number of March (March 32nd = April 1st)
+	 */
+	private static int gaussMarchDay(int year) {
+		if (Table.contains(year)) {
+			return Table.GAUSS[year - Table.FIRST_YEAR] + Table.MARCH_21;
+		}
+		return computeGaussMarchDay(year);
+	}
+
+	private static int computeGaussMarchDay(int year) {
 		final int x = year;
 		int k; // secular number / century
 		int m; // secular moon correction
@@ -37,8 +66,6 @@ public class Easter {
 		int sz; // first Sunday in March
 		int eo; // offset of Easter Sunday to Easter boundary
 		int es; // Easter Sunday as day number of March (March 32nd = April 1st)
-		int easterDay;
-		int easterMonth;
 
 		k = x / 100;
 		m = 15 + (3 * k + 3) / 4 - (8 * k + 13) / 25;
@@ -51,10 +78,7 @@ public class Easter {
 		eo = 7 - (eb - sz) % 7;
 		es = eb + eo;
 
-		easterMonth = 2 + (es + 30) / 31;
-		easterDay = es - 31 * (easterMonth / 4);
-
-		return LocalDate.of(year, easterMonth, easterDay);
+		return es;
 	}
 
 	/**
@@ -64,12 +88,67 @@ public class Easter {
 	 * @return Orthodox Easter Sunday in the specified year.
 	 */
 	public static LocalDate orthodox(int year) {
-		final int x = ((year % 19) * 19 + 15) % 30;
-		final int day = x + 10 - (((5 * year) / 4 + x) % 7);
+		final int day = orthodoxAprilDay(year);
 		if (day < 31) {
 			return LocalDate.of(year, 4, day);
 		} else {
 			return LocalDate.of(year, 5, day - 30);
 		}
 	}
+
+	/**
+	 * Calculate Orthodox Easter Sunday without allocating any objects, see
+	 * {@link #orthodox(int)}.
+	 *
+	 * @param year Year to calculate Orthodox Easter Sunday for.
+	 * @return Orthodox Easter Sunday in the specified year as epoch day.
+	 */
+	public static long orthodoxEpochDay(int year) {
+		return EpochDays.of(year, 4, orthodoxAprilDay(year));
+	}
+
+	/**
+	 * @param year Year to calculate Orthodox Easter Sunday for.
+	 * @return Orthodox Easter Sunday as day number of April (April 31st = May 1st)
+	 */
+	private static int orthodoxAprilDay(int year) {
+		if (Table.contains(year)) {
+			return Table.ORTHODOX[year - Table.FIRST_YEAR] + Table.MARCH_21 - 31;
+		}
+		return computeOrthodoxAprilDay(year);
+	}
+
+	private static int computeOrthodoxAprilDay(int year) {
+		final int x = ((year % 19) * 19 + 15) % 30;
+		return x + 10 - (((5 * year) / 4 + x) % 7);
+	}
+
+	/**
+	 * Precomputed dates of Easter Sunday and Orthodox Easter Sunday for the years
+	 * since the introduction of the Gregorian calendar. Each entry contains the
+	 * offset in days from March 21st. The table is initialized lazily on first
+	 * access of a year in its range.
+	 */
+	private static final class Table {
+		static final int FIRST_YEAR = 1583;
+		static final int LAST_YEAR = 4099;
+		static final int MARCH_21 = 21;
+
+		static final byte[] GAUSS = new byte[LAST_YEAR - FIRST_YEAR + 1];
+		static final byte[] ORTHODOX = new byte[LAST_YEAR - FIRST_YEAR + 1];
+
+		static {
+			for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+				GAUSS[year - FIRST_YEAR] = (byte) (computeGaussMarchDay(year) - MARCH_21);
+				ORTHODOX[year - FIRST_YEAR] = (byte) (computeOrthodoxAprilDay(year) + 31 - MARCH_21);
+			}
+		}
+
+		private Table() {
+		}
+
+		static boolean contains(int year) {
+			return year >= FIRST_YEAR && year <= LAST_YEAR;
+		}
+	}
 }
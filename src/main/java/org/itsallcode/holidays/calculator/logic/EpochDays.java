@@ -0,0 +1,120 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+
+/**
+ * Closed-form calendar arithmetic on epoch days, i.e. the number of days since
+ * 1970-01-01 as returned by {@link LocalDate#toEpochDay()}. In contrast to the
+ * classes of package {@code java.time} the methods of this class do not
+ * allocate any objects.
+ */
+public final class EpochDays {
+
+	private static final long DAYS_0000_TO_1970 = 719_528L;
+
+	private EpochDays() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Get the epoch day of the specified date. In contrast to
+	 * {@link LocalDate#of(int, int, int)} this method does not validate its
+	 * arguments, a day of month exceeding the length of the month continues into
+	 * the next month.
+	 *
+	 * @param year       year
+	 * @param month      month from 1 (January) to 12 (December)
+	 * @param dayOfMonth day of month
+	 * @return epoch day of the specified date
+	 */
+	public static long of(final int year, final int month, final int dayOfMonth) {
+		final long y = year;
+		long total = 365 * y;
+		if (y >= 0) {
+			total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+		} else {
+			total -= y / -4 - y / -100 + y / -400;
+		}
+		total += (367 * month - 362) / 12;
+		total += dayOfMonth - 1;
+		if (month > 2) {
+			total--;
+			if (!isLeapYear(year)) {
+				total--;
+			}
+		}
+		return total - DAYS_0000_TO_1970;
+	}
+
+	/**
+	 * Get the epoch day of the specified month and day in the specified year. Like
+	 * {@link MonthDay#atYear(int)} February 29th is mapped to February 28th in
+	 * years that are not leap years.
+	 *
+	 * @param year     year
+	 * @param monthDay month and day
+	 * @return epoch day of the month and day in the specified year
+	 */
+	public static long of(final int year, final MonthDay monthDay) {
+		final int month = monthDay.getMonthValue();
+		return of(year, month, Math.min(monthDay.getDayOfMonth(), lengthOfMonth(year, month)));
+	}
+
+	/**
+	 * Check if the specified year is a leap year.
+	 *
+	 * @param year year to check
+	 * @return {@code true} if the specified year is a leap year
+	 */
+	public static boolean isLeapYear(final long year) {
+		return ((year & 3) == 0) && ((year % 100) != 0 || (year % 400) == 0);
+	}
+
+	/**
+	 * Get the number of days of the specified month in the specified year.
+	 *
+	 * @param year  year
+	 * @param month month from 1 (January) to 12 (December)
+	 * @return number of days of the month
+	 */
+	public static int lengthOfMonth(final int year, final int month) {
+		switch (month) {
+		case 2:
+			return isLeapYear(year) ? 29 : 28;
+		case 4:
+		case 6:
+		case 9:
+		case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+
+	/**
+	 * Get the day of the week of the specified epoch day.
+	 *
+	 * @param epochDay epoch day
+	 * @return day of week from 1 (Monday) to 7 (Sunday) as returned by
+	 *         {@link DayOfWeek#getValue()}
+	 */
+	public static int dayOfWeek(final long epochDay) {
+		// 1970-01-01 was a Thursday
+		return (int) Math.floorMod(epochDay + 3, 7L) + 1;
+	}
+
+	/**
+	 * Get the specified day of the week on or before the specified epoch day, see
+	 * {@link java.time.temporal.TemporalAdjusters#previousOrSame(DayOfWeek)}.
+	 *
+	 * @param epochDay  epoch day
+	 * @param dayOfWeek day of the week
+	 * @return epoch day of the specified day of the week on or before the epoch
+	 *         day
+	 */
+	public static long previousOrSame(final long epochDay, final DayOfWeek dayOfWeek) {
+		return epochDay - Math.floorMod(dayOfWeek(epochDay) - dayOfWeek.getValue(), 7);
+	}
+}
@@ -0,0 +1,285 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import java.time.DayOfWeek;
+import java.time.MonthDay;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.itsallcode.holidays.calculator.logic.metrics.HolidayMetrics;
+
+import org.itsallcode.holidays.calculator.logic.variants.*;
+import org.itsallcode.holidays.calculator.logic.variants.FloatingHoliday.Day;
+import org.itsallcode.holidays.calculator.logic.variants.FloatingHoliday.Direction;
+
+/**
+ * Compiled plan for evaluating the definitions of a {@link HolidaySet} for a
+ * particular year.
+ *
+ * <p>
+ * Instead of calling {@link Holiday#epochDayOf(int)} for each definition, the
+ * plan computes the pivot dates shared by multiple definitions only once per
+ * year: the first day of the year, from which the first day of each month
+ * follows, Gregorian Easter and Orthodox Easter. Fixed date holidays, floating
+ * holidays and holidays based on Easter are then derived from these pivot
+ * dates. All other definitions, including subclasses of the built-in holidays,
+ * are evaluated by {@link Holiday#epochDayOf(int)}.
+ * </p>
+ *
+ * <p>
+ * Optionally the plan assigns an index to each distinct category of the
+ * definitions, enabling {@link YearInstances} to partition the instances of
+ * each year by category.
+ * </p>
+ *
+ * <p>
+ * The plan is immutable and can be used by multiple threads concurrently.
+ * </p>
+ */
+final class EvaluationPlan {
+
+	private static final byte GENERIC = 0;
+	private static final byte FIXED = 1;
+	private static final byte FLOATING = 2;
+	private static final byte EASTER = 3;
+	private static final byte ORTHODOX_EASTER = 4;
+
+	/** Number of days before the first day of each month, for non-leap and leap years */
+	private static final int[][] DAYS_BEFORE_MONTH = {
+			{ 0, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334, 365 },
+			{ 0, 0, 31, 60, 91, 121, 152, 182, 213, 244, 274, 305, 335, 366 } };
+
+	private final Holiday[] definitions;
+	private final byte[] kinds;
+	/** Month of fixed and floating holidays */
+	private final byte[] months;
+	/** Day of month of fixed and floating holidays */
+	private final byte[] days;
+	/** Offset in days of floating holidays and holidays based on Easter */
+	private final int[] offsetsInDays;
+	/** Number of weeks from the pivot day of floating holidays */
+	private final int[] weeks;
+	private final DayOfWeek[] daysOfWeek;
+	/** Pivot day of floating holidays: 0 = as specified, 1 = six days later, 2 = last day of month */
+	private final byte[] pivotKinds;
+	private final boolean usesEaster;
+	private final boolean usesOrthodoxEaster;
+	/** Index of each distinct category in the order of first occurrence */
+	private final Map<String, Integer> categoryIndices = new HashMap<>();
+	/** Index of the category of each definition, empty unless partitioned by category */
+	private final int[] categories;
+
+	private EvaluationPlan(final Holiday[] definitions, final boolean partitionByCategory) {
+		final int n = definitions.length;
+		this.definitions = definitions;
+		this.kinds = new byte[n];
+		this.months = new byte[n];
+		this.days = new byte[n];
+		this.offsetsInDays = new int[n];
+		this.weeks = new int[n];
+		this.daysOfWeek = new DayOfWeek[n];
+		this.pivotKinds = new byte[n];
+		boolean easter = false;
+		boolean orthodoxEaster = false;
+		for (int i = 0; i < n; i++) {
+			final Holiday holiday = definitions[i];
+			final Class<?> type = holiday.getClass();
+			if (type == FixedDateHoliday.class) {
+				kinds[i] = FIXED;
+				setMonthDay(i, holiday.getMonthDay());
+			} else if (type == FloatingHoliday.class) {
+				compileFloating(i, (FloatingHoliday) holiday);
+			} else if (type == EasterBasedHoliday.class) {
+				kinds[i] = EASTER;
+				offsetsInDays[i] = holiday.getOffsetInDays();
+				easter = true;
+			} else if (type == OrthodoxEasterBasedHoliday.class) {
+				kinds[i] = ORTHODOX_EASTER;
+				offsetsInDays[i] = holiday.getOffsetInDays();
+				orthodoxEaster = true;
+			} else {
+				kinds[i] = GENERIC;
+			}
+		}
+		this.usesEaster = easter;
+		this.usesOrthodoxEaster = orthodoxEaster;
+		this.categories = new int[partitionByCategory ? n : 0];
+		for (int i = 0; i < categories.length; i++) {
+			categories[i] = categoryIndices.computeIfAbsent(definitions[i].getCategory(),
+					category -> categoryIndices.size());
+		}
+	}
+
+	/**
+	 * Compile a plan for the specified definitions.
+	 *
+	 * @param definitions definitions of the holidays
+	 * @return plan for evaluating the definitions
+	 */
+	static EvaluationPlan compile(final Holiday[] definitions) {
+		return compile(definitions, false);
+	}
+
+	/**
+	 * Compile a plan for the specified definitions.
+	 *
+	 * @param definitions         definitions of the holidays
+	 * @param partitionByCategory {@code true} to partition the instances of each
+	 *                            year by the categories of the definitions
+	 * @return plan for evaluating the definitions
+	 */
+	static EvaluationPlan compile(final Holiday[] definitions, final boolean partitionByCategory) {
+		return new EvaluationPlan(definitions, partitionByCategory);
+	}
+
+	private void setMonthDay(final int i, final MonthDay monthDay) {
+		months[i] = (byte) monthDay.getMonthValue();
+		days[i] = (byte) monthDay.getDayOfMonth();
+	}
+
+	private void compileFloating(final int i, final FloatingHoliday holiday) {
+		kinds[i] = FLOATING;
+		setMonthDay(i, holiday.getMonthDay());
+		daysOfWeek[i] = holiday.getDayOfWeek();
+		offsetsInDays[i] = holiday.getOffsetInDays();
+		final int offset = holiday.getOffset();
+		if (holiday.getDirection() == Direction.AFTER) {
+			pivotKinds[i] = 1;
+			weeks[i] = offset - 1;
+		} else {
+			pivotKinds[i] = (byte) (holiday.getDayInterpretation() == Day.LAST ? 2 : 0);
+			weeks[i] = 1 - offset;
+		}
+	}
+
+	/**
+	 * @return definitions evaluated by this plan
+	 */
+	Holiday[] definitions() {
+		return definitions;
+	}
+
+	/**
+	 * @return number of distinct categories if the plan partitions the instances
+	 *         by category, otherwise 0
+	 */
+	int categoryCount() {
+		return categoryIndices.size();
+	}
+
+	/**
+	 * @param category category
+	 * @return index of the category or -1 if no definition has this category or
+	 *         the plan does not partition the instances by category
+	 */
+	int categoryIndex(final String category) {
+		return categoryIndices.getOrDefault(category, -1);
+	}
+
+	/**
+	 * @param definition index of the definition
+	 * @return index of the category of the definition
+	 */
+	int category(final int definition) {
+		return categories[definition];
+	}
+
+	/**
+	 * Evaluate all definitions for the specified year.
+	 *
+	 * @param year      year to evaluate the definitions for
+	 * @param firstDay  epoch day of the first day of the year
+	 * @param epochDays array receiving the epoch day of each definition or
+	 *                  {@link Holiday#NO_OCCURRENCE}, must have the same length
+	 *                  as the definitions
+	 */
+	void evaluate(final int year, final long firstDay, final long[] epochDays) {
+		evaluate(year, firstDay, epochDays, null);
+	}
+
+	/**
+	 * Evaluate all definitions for the specified year and optionally measure the
+	 * time spent for the definitions of each subclass of {@link Holiday}. The
+	 * Easter dates shared by multiple definitions are not attributed to any
+	 * subclass.
+	 *
+	 * @param year      year to evaluate the definitions for
+	 * @param firstDay  epoch day of the first day of the year
+	 * @param epochDays array receiving the epoch day of each definition or
+	 *                  {@link Holiday#NO_OCCURRENCE}, must have the same length
+	 *                  as the definitions
+	 * @param times     times to add the measurements to or {@code null} to not
+	 *                  measure anything
+	 */
+	void evaluate(final int year, final long firstDay, final long[] epochDays, final VariantTimes times) {
+		final int[] daysBeforeMonth = DAYS_BEFORE_MONTH[EpochDays.isLeapYear(year) ? 1 : 0];
+		final long easter = usesEaster ? Easter.gaussEpochDay(year) : 0;
+		final long orthodoxEaster = usesOrthodoxEaster ? Easter.orthodoxEpochDay(year) : 0;
+		for (int i = 0; i < kinds.length; i++) {
+			final long start = times == null ? 0 : System.nanoTime();
+			switch (kinds[i]) {
+			case FIXED:
+				epochDays[i] = dayOfMonth(firstDay, daysBeforeMonth, months[i], days[i]);
+				break;
+			case FLOATING:
+				epochDays[i] = floating(i, firstDay, daysBeforeMonth);
+				break;
+			case EASTER:
+				epochDays[i] = easter + offsetsInDays[i];
+				break;
+			case ORTHODOX_EASTER:
+				epochDays[i] = orthodoxEaster + offsetsInDays[i];
+				break;
+			default:
+				epochDays[i] = definitions[i].epochDayOf(year);
+			}
+			if (times != null) {
+				times.add(definitions[i].getClass(), System.nanoTime() - start);
+			}
+		}
+	}
+
+	private long floating(final int i, final long firstDay, final int[] daysBeforeMonth) {
+		final int month = months[i];
+		final long pivotDay;
+		switch (pivotKinds[i]) {
+		case 1:
+			pivotDay = dayOfMonth(firstDay, daysBeforeMonth, month, days[i]) + 6;
+			break;
+		case 2:
+			pivotDay = firstDay + daysBeforeMonth[month + 1] - 1;
+			break;
+		default:
+			pivotDay = dayOfMonth(firstDay, daysBeforeMonth, month, days[i]);
+		}
+		return EpochDays.previousOrSame(pivotDay, daysOfWeek[i]) + 7L * weeks[i] + offsetsInDays[i];
+	}
+
+	/**
+	 * Like {@link EpochDays#of(int, MonthDay)} a day of month exceeding the length
+	 * of the month is mapped to the last day of the month.
+	 */
+	private static long dayOfMonth(final long firstDay, final int[] daysBeforeMonth, final int month,
+			final int dayOfMonth) {
+		final int lengthOfMonth = daysBeforeMonth[month + 1] - daysBeforeMonth[month];
+		return firstDay + daysBeforeMonth[month] + Math.min(dayOfMonth, lengthOfMonth) - 1;
+	}
+
+	/**
+	 * Accumulates the number of evaluations and the time spent for each subclass
+	 * of {@link Holiday}.
+	 */
+	static final class VariantTimes {
+		private final Map<Class<? extends Holiday>, long[]> times = new LinkedHashMap<>();
+
+		void add(final Class<? extends Holiday> variant, final long nanos) {
+			final long[] entry = times.computeIfAbsent(variant, c -> new long[2]);
+			entry[0]++;
+			entry[1] += nanos;
+		}
+
+		void report(final int year, final HolidayMetrics metrics) {
+			times.forEach((variant, entry) -> metrics.variantEvaluated(year, variant, (int) entry[0], entry[1]));
+		}
+	}
+}
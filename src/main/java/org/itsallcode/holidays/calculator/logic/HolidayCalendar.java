@@ -0,0 +1,355 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+
+/**
+ * Instances of holidays that can be queried by date and combined with other
+ * calendars.
+ *
+ * <p>
+ * A {@link HolidaySet} computes and caches the instances of its definitions for
+ * each year. The calendars returned by {@link #union(HolidayCalendar)},
+ * {@link #intersection(HolidayCalendar)}, {@link #difference(HolidayCalendar)},
+ * {@link #withCategories(String...)} and {@link #withoutCategories(String...)}
+ * are lazy views: they do not compute any holiday themselves but merge the
+ * sorted instances of their underlying calendars for each year queried. Hence
+ * combining calendars with cached years only costs a merge of their instances.
+ * Views reflect the caches of their underlying calendars and can be shared
+ * between multiple threads if these can.
+ * </p>
+ *
+ * <p>
+ * Searching the next or previous holiday caches only the year of the start
+ * date. The following years are read from the cache if available and computed
+ * without caching otherwise, so a search finding no holiday for
+ * {@value #SEARCH_HORIZON_YEARS} years, e.g. in an empty calendar, does not
+ * evict the cached years in use.
+ * </p>
+ */
+public abstract class HolidayCalendar {
+
+	/**
+	 * Maximum number of years searched for the next or previous holiday. As the
+	 * Gregorian calendar repeats every 400 years, a calendar without any instance
+	 * in this period does not have any instance at all.
+	 */
+	public static final int SEARCH_HORIZON_YEARS = 400;
+
+	HolidayCalendar() {
+		// only subclasses in this package
+	}
+
+	/**
+	 * Get the instances of all holidays in the specified year.
+	 *
+	 * @param year year
+	 * @return instances in the specified year
+	 */
+	abstract YearInstances year(int year);
+
+	/**
+	 * Get the instances of all holidays in the specified year without caching
+	 * them if they are not cached yet.
+	 *
+	 * @param year year
+	 * @return instances in the specified year
+	 */
+	abstract YearInstances peekYear(int year);
+
+	/**
+	 * @return definitions of the holidays of this calendar, indexed by the
+	 *         instances of each year
+	 */
+	abstract Holiday[] definitions();
+
+	/**
+	 * Return List of holidays occurring on the given date.
+	 *
+	 * @param date date
+	 * @return List of holidays occurring on the given date. If there is no holiday
+	 *         on given date, then list is empty.
+	 */
+	public List<Holiday> instances(final LocalDate date) {
+		return year(date.getYear()).instances(date.toEpochDay());
+	}
+
+	/**
+	 * Return list of all holiday instances occurring in the given range of dates.
+	 *
+	 * <p>
+	 * The effort is proportional to the number of holiday instances in the range
+	 * rather than the number of days.
+	 * </p>
+	 *
+	 * @param from first date of the range, inclusive
+	 * @param to   last date of the range, inclusive
+	 * @return list of holiday instances sorted by date. Instances on the same date
+	 *         are sorted by the order of their definitions.
+	 */
+	public List<HolidayInstance> instances(final LocalDate from, final LocalDate to) {
+		return stream(from, to).toList();
+	}
+
+	/**
+	 * Stream all holiday instances occurring in the given range of dates. The
+	 * holiday instances of each year are computed only when the stream reaches the
+	 * year.
+	 *
+	 * @param from first date of the range, inclusive
+	 * @param to   last date of the range, inclusive
+	 * @return stream of holiday instances sorted by date. Instances on the same
+	 *         date are sorted by the order of their definitions.
+	 */
+	public Stream<HolidayInstance> stream(final LocalDate from, final LocalDate to) {
+		if (to.isBefore(from)) {
+			throw new IllegalArgumentException("Argument to (" + to + ") must not be before from (" + from + ")");
+		}
+		final long fromEpochDay = from.toEpochDay();
+		final long toEpochDay = to.toEpochDay();
+		return IntStream.rangeClosed(from.getYear(), to.getYear())
+				.mapToObj(this::year)
+				.flatMap(instances -> instances.stream(fromEpochDay, toEpochDay));
+	}
+
+	/**
+	 * Get the next holiday instance on or after the given date. The holiday
+	 * instances of the following years are computed only when needed.
+	 *
+	 * @param date date to start the search from, inclusive
+	 * @return first holiday instance on or after the given date or empty
+	 *         {@link Optional} if there is no holiday within the next
+	 *         {@value #SEARCH_HORIZON_YEARS} years
+	 */
+	public Optional<HolidayInstance> next(final LocalDate date) {
+		return streamFrom(date).findFirst();
+	}
+
+	/**
+	 * Get the next holiday instances on or after the given date. Instances on the
+	 * same date are sorted by the order of their definitions and count
+	 * separately.
+	 *
+	 * @param date date to start the search from, inclusive
+	 * @param n    maximum number of holiday instances to return
+	 * @return list of at most n holiday instances sorted by date. The list
+	 *         contains less than n instances only if there are no more holidays
+	 *         within the next {@value #SEARCH_HORIZON_YEARS} years.
+	 */
+	public List<HolidayInstance> nextN(final LocalDate date, final int n) {
+		if (n < 0) {
+			throw new IllegalArgumentException("Argument n must be >= 0, but was " + n);
+		}
+		return streamFrom(date).limit(n).toList();
+	}
+
+	/**
+	 * Get the previous holiday instance strictly before the given date. If there
+	 * are multiple holidays on the same date then the instance of the last
+	 * definition is returned.
+	 *
+	 * @param date date to start the search from, exclusive
+	 * @return last holiday instance before the given date or empty
+	 *         {@link Optional} if there is no holiday within the preceding
+	 *         {@value #SEARCH_HORIZON_YEARS} years
+	 */
+	public Optional<HolidayInstance> previous(final LocalDate date) {
+		final long epochDay = date.toEpochDay();
+		final int last = Math.max(Year.MIN_VALUE, date.getYear() - SEARCH_HORIZON_YEARS);
+		for (int year = date.getYear(); year >= last; year--) {
+			final YearInstances instances = year == date.getYear() ? year(year) : peekYear(year);
+			final HolidayInstance instance = instances.lastBefore(epochDay);
+			if (instance != null) {
+				return Optional.of(instance);
+			}
+		}
+		return Optional.empty();
+	}
+
+	private Stream<HolidayInstance> streamFrom(final LocalDate date) {
+		final long epochDay = date.toEpochDay();
+		final int last = (int) Math.min(Year.MAX_VALUE, (long) date.getYear() + SEARCH_HORIZON_YEARS);
+		return IntStream.rangeClosed(date.getYear(), last)
+				.mapToObj(year -> year == date.getYear() ? year(year) : peekYear(year))
+				.flatMap(instances -> instances.streamFrom(epochDay));
+	}
+
+	/**
+	 * Create a view containing the holiday instances of this calendar and of the
+	 * other calendar. Instances of a definition of the other calendar equal to a
+	 * definition of this calendar or to another definition of the other calendar
+	 * are contained only once. Instances on the same date are sorted by the order of
+	 * the definitions of this calendar followed by the definitions of the other
+	 * calendar.
+	 *
+	 * @param other other calendar
+	 * @return view of the union of both calendars
+	 */
+	public HolidayCalendar union(final HolidayCalendar other) {
+		return new Union(this, other);
+	}
+
+	/**
+	 * Create a view containing the holiday instances of this calendar on dates on
+	 * which the other calendar has a holiday as well.
+	 *
+	 * @param other other calendar
+	 * @return view of the intersection of both calendars
+	 */
+	public HolidayCalendar intersection(final HolidayCalendar other) {
+		return new DateFilter(this, other, true);
+	}
+
+	/**
+	 * Create a view containing the holiday instances of this calendar on dates on
+	 * which the other calendar does not have any holiday.
+	 *
+	 * @param other other calendar
+	 * @return view of the difference of both calendars
+	 */
+	public HolidayCalendar difference(final HolidayCalendar other) {
+		return new DateFilter(this, other, false);
+	}
+
+	/**
+	 * Create a view containing only the holiday instances of this calendar with
+	 * one of the specified categories.
+	 *
+	 * @param categories categories to include
+	 * @return view of the holidays with the specified categories
+	 */
+	public HolidayCalendar withCategories(final String... categories) {
+		return new CategoryFilter(this, Set.of(categories), true);
+	}
+
+	/**
+	 * Create a view containing only the holiday instances of this calendar with
+	 * none of the specified categories.
+	 *
+	 * @param categories categories to exclude
+	 * @return view of the holidays without the specified categories
+	 */
+	public HolidayCalendar withoutCategories(final String... categories) {
+		return new CategoryFilter(this, Set.of(categories), false);
+	}
+
+	/**
+	 * View of the union of two calendars. The definitions of the view are the
+	 * definitions of the first calendar followed by the definitions of the second
+	 * calendar not equal to any definition of the first one.
+	 */
+	private static final class Union extends HolidayCalendar {
+		private final HolidayCalendar first;
+		private final HolidayCalendar second;
+		private final Holiday[] definitions;
+		/** Index in the definitions of the view of each definition of the second calendar */
+		private final int[] secondIndices;
+
+		Union(final HolidayCalendar first, final HolidayCalendar second) {
+			this.first = first;
+			this.second = second;
+			final Holiday[] firstDefinitions = first.definitions();
+			final Holiday[] secondDefinitions = second.definitions();
+			final Map<Holiday, Integer> indices = new HashMap<>();
+			for (int i = firstDefinitions.length - 1; i >= 0; i--) {
+				indices.put(firstDefinitions[i], i);
+			}
+			final List<Holiday> definitionList = new ArrayList<>(Arrays.asList(firstDefinitions));
+			this.secondIndices = new int[secondDefinitions.length];
+			for (int i = 0; i < secondDefinitions.length; i++) {
+				final Integer index = indices.get(secondDefinitions[i]);
+				if (index != null) {
+					secondIndices[i] = index;
+				} else {
+					secondIndices[i] = definitionList.size();
+					definitionList.add(secondDefinitions[i]);
+				}
+			}
+			this.definitions = definitionList.toArray(new Holiday[0]);
+		}
+
+		@Override
+		YearInstances year(final int year) {
+			return YearInstances.union(first.year(year), second.year(year), secondIndices, definitions);
+		}
+
+		@Override
+		YearInstances peekYear(final int year) {
+			return YearInstances.union(first.peekYear(year), second.peekYear(year), secondIndices, definitions);
+		}
+
+		@Override
+		Holiday[] definitions() {
+			return definitions;
+		}
+	}
+
+	/**
+	 * View of the instances of a calendar on the dates with or without a holiday
+	 * in another calendar.
+	 */
+	private static final class DateFilter extends HolidayCalendar {
+		private final HolidayCalendar source;
+		private final HolidayCalendar dates;
+		private final boolean include;
+
+		DateFilter(final HolidayCalendar source, final HolidayCalendar dates, final boolean include) {
+			this.source = source;
+			this.dates = dates;
+			this.include = include;
+		}
+
+		@Override
+		YearInstances year(final int year) {
+			return source.year(year).filterByDates(dates.year(year), include);
+		}
+
+		@Override
+		YearInstances peekYear(final int year) {
+			return source.peekYear(year).filterByDates(dates.peekYear(year), include);
+		}
+
+		@Override
+		Holiday[] definitions() {
+			return source.definitions();
+		}
+	}
+
+	/**
+	 * View of the instances of a calendar with or without specific categories.
+	 */
+	private static final class CategoryFilter extends HolidayCalendar {
+		private final HolidayCalendar source;
+		/** Whether to keep the instances of each definition */
+		private final boolean[] keep;
+
+		CategoryFilter(final HolidayCalendar source, final Set<String> categories, final boolean include) {
+			this.source = source;
+			final Holiday[] definitions = source.definitions();
+			this.keep = new boolean[definitions.length];
+			for (int i = 0; i < definitions.length; i++) {
+				keep[i] = categories.contains(definitions[i].getCategory()) == include;
+			}
+		}
+
+		@Override
+		YearInstances year(final int year) {
+			return source.year(year).filterByDefinitions(keep);
+		}
+
+		@Override
+		YearInstances peekYear(final int year) {
+			return source.peekYear(year).filterByDefinitions(keep);
+		}
+
+		@Override
+		Holiday[] definitions() {
+			return source.definitions();
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+
+/**
+ * Instance of a holiday on a concrete date.
+ */
+public class HolidayInstance {
+
+	private final LocalDate date;
+	private final Holiday holiday;
+
+	/**
+	 * Create a new instance of a holiday.
+	 *
+	 * @param date    date of the instance
+	 * @param holiday definition of the holiday
+	 */
+	public HolidayInstance(final LocalDate date, final Holiday holiday) {
+		this.date = date;
+		this.holiday = holiday;
+	}
+
+	/**
+	 * Get the date of this instance.
+	 *
+	 * @return date of the instance
+	 */
+	public LocalDate getDate() {
+		return date;
+	}
+
+	/**
+	 * Get the definition of the holiday of this instance.
+	 *
+	 * @return holiday definition
+	 */
+	public Holiday getHoliday() {
+		return holiday;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s(%s: %s)", this.getClass().getSimpleName(), date, holiday);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(date, holiday);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		final HolidayInstance other = (HolidayInstance) obj;
+		return Objects.equals(date, other.date) && Objects.equals(holiday, other.holiday);
+	}
+}
@@ -0,0 +1,298 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import org.itsallcode.holidays.calculator.logic.cache.CacheStatistics;
+import org.itsallcode.holidays.calculator.logic.cache.YearCache;
+import org.itsallcode.holidays.calculator.logic.cache.YearCacheBuilder;
+import org.itsallcode.holidays.calculator.logic.variants.*;
+
+/**
+ * Holds the holidays of multiple regions, e.g. all files in directory
+ * {@code holidays} loaded by
+ * {@link org.itsallcode.holidays.calculator.logic.parser.HolidaysLoader}.
+ *
+ * <p>
+ * Many regions share the same rules, e.g. a fixed date holiday on December 25th
+ * or Good Friday two days before Easter, often with different names. The
+ * registry interns definitions with the same rule, i.e. producing the same
+ * date in every year regardless of category and name, and computes and caches
+ * the instances of each distinct rule only once per year for all regions. The
+ * holidays of a region are derived from the shared instances when queried.
+ * Hence memory and computation grow with the number of distinct rules rather
+ * than with the number of definitions of all regions.
+ * </p>
+ *
+ * <p>
+ * Definitions of subclasses of the built-in holidays are only interned with
+ * definitions they are equal to.
+ * </p>
+ */
+public class HolidayRegistry {
+
+	private static final int[] NONE = new int[0];
+
+	private final NavigableMap<String, Region> regions = new TreeMap<>();
+	private final EvaluationPlan plan;
+	private final YearCache<YearInstances> cache;
+
+	/**
+	 * Create a new registry from the holidays of the specified regions.
+	 *
+	 * @param regions map from the name of each region to its holidays
+	 */
+	public HolidayRegistry(final Map<String, ? extends Collection<Holiday>> regions) {
+		this(regions, new YearCacheBuilder());
+	}
+
+	/**
+	 * Create a new registry from the holidays of the specified regions using a
+	 * specific cache for the instances of the distinct rules of each year.
+	 *
+	 * @param regions      map from the name of each region to its holidays
+	 * @param cacheBuilder builder for the cache of instances per year
+	 */
+	public HolidayRegistry(final Map<String, ? extends Collection<Holiday>> regions,
+			final YearCacheBuilder cacheBuilder) {
+		final Map<Object, Integer> ruleIndices = new HashMap<>();
+		final List<Holiday> rules = new ArrayList<>();
+		final Map<String, Holiday[]> definitions = new HashMap<>();
+		final Map<String, int[]> definitionRules = new HashMap<>();
+		for (final Map.Entry<String, ? extends Collection<Holiday>> entry : regions.entrySet()) {
+			final Holiday[] holidays = entry.getValue().toArray(new Holiday[0]);
+			final int[] indices = new int[holidays.length];
+			for (int i = 0; i < holidays.length; i++) {
+				final Holiday holiday = holidays[i];
+				indices[i] = ruleIndices.computeIfAbsent(ruleKey(holiday), key -> {
+					rules.add(holiday);
+					return rules.size() - 1;
+				});
+			}
+			definitions.put(entry.getKey(), holidays);
+			definitionRules.put(entry.getKey(), indices);
+		}
+		definitions.forEach((name, holidays) -> this.regions.put(name,
+				new Region(holidays, definitionRules.get(name), rules.size())));
+		this.plan = EvaluationPlan.compile(rules.toArray(new Holiday[0]));
+		this.cache = cacheBuilder.build();
+	}
+
+	/**
+	 * Get the names of all regions.
+	 *
+	 * @return sorted set of region names
+	 */
+	public SortedSet<String> getRegions() {
+		return Collections.unmodifiableSortedSet(regions.navigableKeySet());
+	}
+
+	/**
+	 * Get the number of distinct rules of all regions, each computed only once per
+	 * year.
+	 *
+	 * @return number of distinct rules
+	 */
+	public int getRuleCount() {
+		return plan.definitions().length;
+	}
+
+	/**
+	 * Return list of holidays of the specified region occurring on the given date.
+	 *
+	 * @param region name of the region
+	 * @param date   date
+	 * @return immutable list of holidays occurring on the given date sorted by the
+	 *         order of their definitions. If there is no holiday on given date,
+	 *         then list is empty.
+	 * @throws IllegalArgumentException if there is no region with the specified
+	 *                                  name
+	 */
+	public List<Holiday> instances(final String region, final LocalDate date) {
+		final Region r = region(region);
+		final YearInstances year = year(date.getYear());
+		final long epochDay = date.toEpochDay();
+		return r.holidays(year, year.firstIndexOnOrAfter(epochDay), year.firstIndexOnOrAfter(epochDay + 1));
+	}
+
+	/**
+	 * Return list of all holiday instances of the specified region occurring in
+	 * the given range of dates.
+	 *
+	 * @param region name of the region
+	 * @param from   first date of the range, inclusive
+	 * @param to     last date of the range, inclusive
+	 * @return list of holiday instances sorted by date. Instances on the same date
+	 *         are sorted by the order of their definitions.
+	 * @throws IllegalArgumentException if there is no region with the specified
+	 *                                  name
+	 */
+	public List<HolidayInstance> instances(final String region, final LocalDate from, final LocalDate to) {
+		if (to.isBefore(from)) {
+			throw new IllegalArgumentException("Argument to (" + to + ") must not be before from (" + from + ")");
+		}
+		final Region r = region(region);
+		final long fromEpochDay = from.toEpochDay();
+		final long toEpochDay = to.toEpochDay();
+		final List<HolidayInstance> result = new ArrayList<>();
+		IntStream.rangeClosed(from.getYear(), to.getYear()).forEach(y -> {
+			final YearInstances year = year(y);
+			final int end = year.firstIndexOnOrAfter(toEpochDay + 1);
+			int index = year.firstIndexOnOrAfter(fromEpochDay);
+			while (index < end) {
+				final long epochDay = year.epochDay(index);
+				final int next = year.firstIndexOnOrAfter(epochDay + 1);
+				final List<Holiday> holidays = r.holidays(year, index, next);
+				if (!holidays.isEmpty()) {
+					final LocalDate date = LocalDate.ofEpochDay(epochDay);
+					holidays.forEach(holiday -> result.add(new HolidayInstance(date, holiday)));
+				}
+				index = next;
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Create an index of the regions having a holiday on each day of the
+	 * specified range of years. The index is computed from the instances of the
+	 * distinct rules, each rule contributing the regions it is defined for.
+	 *
+	 * @param fromYear first year, inclusive
+	 * @param toYear   last year, inclusive
+	 * @return index of the regions having a holiday on each day
+	 * @throws IllegalArgumentException if the registry contains more than
+	 *                                  {@value RegionIndex#MAX_REGIONS} regions
+	 */
+	public RegionIndex index(final int fromYear, final int toYear) {
+		if (toYear < fromYear) {
+			throw new IllegalArgumentException(
+					"Argument toYear (" + toYear + ") must not be before fromYear (" + fromYear + ")");
+		}
+		if (regions.size() > RegionIndex.MAX_REGIONS) {
+			throw new IllegalArgumentException("Index supports at most " + RegionIndex.MAX_REGIONS
+					+ " regions, but registry contains " + regions.size());
+		}
+		final long[] regionsByRule = new long[getRuleCount()];
+		int bit = 0;
+		for (final Region region : regions.values()) {
+			for (int rule = 0; rule < regionsByRule.length; rule++) {
+				if (region.definitionsByRule[rule].length > 0) {
+					regionsByRule[rule] |= 1L << bit;
+				}
+			}
+			bit++;
+		}
+
+		final long firstDay = EpochDays.of(fromYear, 1, 1);
+		final long[] days = new long[Math.toIntExact(EpochDays.of(toYear + 1, 1, 1) - firstDay)];
+		for (int y = fromYear; y <= toYear; y++) {
+			final YearInstances year = year(y);
+			for (int i = 0; i < year.size(); i++) {
+				days[(int) (year.epochDay(i) - firstDay)] |= regionsByRule[year.definitionIndex(i)];
+			}
+		}
+		return new RegionIndex(new ArrayList<>(regions.keySet()), firstDay, days);
+	}
+
+	/**
+	 * Get a snapshot of the statistics of the cache for the instances of the
+	 * distinct rules of each year.
+	 *
+	 * @return statistics of the cache
+	 */
+	public CacheStatistics getCacheStatistics() {
+		return cache.getStatistics();
+	}
+
+	private Region region(final String name) {
+		final Region region = regions.get(name);
+		if (region == null) {
+			throw new IllegalArgumentException("Unknown region '" + name + "'");
+		}
+		return region;
+	}
+
+	private YearInstances year(final int year) {
+		return cache.get(year, y -> YearInstances.compute(y, plan));
+	}
+
+	/**
+	 * Create a key identifying the rule of the specified holiday, i.e. two
+	 * holidays with equal keys occur on the same date in every year.
+	 */
+	private static Object ruleKey(final Holiday holiday) {
+		final Class<?> type = holiday.getClass();
+		if (type == FixedDateHoliday.class) {
+			return List.of(type, holiday.getMonthDay());
+		}
+		if (type == FloatingHoliday.class) {
+			final FloatingHoliday floating = (FloatingHoliday) holiday;
+			return List.of(type, floating.getOffset(), floating.getDayOfWeek(), floating.getDirection(),
+					floating.getMonthDay(), floating.getDayInterpretation(), floating.getOffsetInDays());
+		}
+		if (type == EasterBasedHoliday.class || type == OrthodoxEasterBasedHoliday.class) {
+			return List.of(type, holiday.getOffsetInDays());
+		}
+		if (type == ConditionalHoliday.class) {
+			final ConditionalHoliday conditional = (ConditionalHoliday) holiday;
+			return List.of(type, conditional.getCondition(), ruleKey(conditional.getHoliday()));
+		}
+		if (type == HolidayWithAlternative.class) {
+			final HolidayWithAlternative alternative = (HolidayWithAlternative) holiday;
+			return List.of(type, alternative.getCondition(), ruleKey(alternative.getDefaultHoliday()),
+					alternative.getAlternateDate());
+		}
+		return holiday;
+	}
+
+	/**
+	 * Definitions of a region and the rule of each definition.
+	 */
+	private static final class Region {
+		private final Holiday[] holidays;
+		/** Indices of the definitions of this region for each rule */
+		private final int[][] definitionsByRule;
+
+		Region(final Holiday[] holidays, final int[] rules, final int ruleCount) {
+			this.holidays = holidays;
+			this.definitionsByRule = new int[ruleCount][];
+			Arrays.fill(definitionsByRule, NONE);
+			for (int i = 0; i < rules.length; i++) {
+				final int[] previous = definitionsByRule[rules[i]];
+				final int[] definitions = Arrays.copyOf(previous, previous.length + 1);
+				definitions[previous.length] = i;
+				definitionsByRule[rules[i]] = definitions;
+			}
+		}
+
+		/**
+		 * Get the holidays of this region for the shared instances in the specified
+		 * range, all on the same date.
+		 */
+		List<Holiday> holidays(final YearInstances year, final int from, final int to) {
+			int n = 0;
+			int[] indices = NONE;
+			for (int index = from; index < to; index++) {
+				final int[] definitions = definitionsByRule[year.definitionIndex(index)];
+				if (definitions.length > 0) {
+					if (n + definitions.length > indices.length) {
+						indices = Arrays.copyOf(indices, Math.max(2 * indices.length, n + definitions.length));
+					}
+					System.arraycopy(definitions, 0, indices, n, definitions.length);
+					n += definitions.length;
+				}
+			}
+			if (n == 0) {
+				return Collections.emptyList();
+			}
+			Arrays.sort(indices, 0, n);
+			final Holiday[] result = new Holiday[n];
+			for (int i = 0; i < n; i++) {
+				result[i] = holidays[indices[i]];
+			}
+			return List.of(result);
+		}
+	}
+}
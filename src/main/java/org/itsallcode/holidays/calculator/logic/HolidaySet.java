@@ -1,8 +1,17 @@
 package org.itsallcode.holidays.calculator.logic;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import org.itsallcode.holidays.calculator.logic.cache.CacheStatistics;
+import org.itsallcode.holidays.calculator.logic.cache.YearCache;
+import org.itsallcode.holidays.calculator.logic.cache.YearCacheBuilder;
+import org.itsallcode.holidays.calculator.logic.metrics.HolidayMetrics;
 import org.itsallcode.holidays.calculator.logic.variants.Holiday;
 
 /**
@@ -17,14 +26,38 @@ import org.itsallcode.holidays.calculator.logic.variants.Holiday;
  * <li>a date defined relatively to Easter Sunday with a positive or negative
  * offset of days</li>
  * </ul>
+ *
+ * <p>
+ * The holiday set computes the instances of all holidays for a particular year
+ * on first request and caches them. By default the cache must not be accessed
+ * by multiple threads concurrently. In order to share a holiday set between
+ * multiple threads create it with a concurrent cache, see
+ * {@link YearCacheBuilder#concurrent()}. Applications querying arbitrary years
+ * can limit the number of cached years, see
+ * {@link YearCacheBuilder#withMaximumSize(int)}.
+ * </p>
+ *
+ * <p>
+ * The cached instances of each year are partitioned by the categories of the
+ * holidays, so queries for a single category, e.g.
+ * {@link #instances(LocalDate, String)}, do not need to filter the instances
+ * of other categories.
+ * </p>
+ *
+ * <p>
+ * Holiday sets can be combined with other calendars without recomputing their
+ * holidays, see {@link HolidayCalendar}.
+ * </p>
  */
-public class HolidaySet {
+public class HolidaySet extends HolidayCalendar {
 
 	final List<Holiday> definitions = new ArrayList<>();
 
-	// caches
-	private final Set<Integer> years = new HashSet<>();
-	private final HashMap<LocalDate, List<Holiday>> holidayInstances = new HashMap<>();
+	private final EvaluationPlan plan;
+	private final YearCache<YearInstances> cache;
+	private final HolidayMetrics metrics;
+	/** Indices of the definitions with each name */
+	private final Map<String, int[]> definitionsByName = new HashMap<>();
 
 	/**
 	 * Create a new set of holidays from list of holiday definitions.
@@ -32,37 +65,298 @@ public class HolidaySet {
 	 * @param definitions list of holidays to include into the holiday set
 	 */
 	public HolidaySet(final Collection<Holiday> definitions) {
+		this(definitions, new YearCacheBuilder());
+	}
+
+	/**
+	 * Create a new set of holidays from list of holiday definitions using a
+	 * specific cache for the instances of each year.
+	 *
+	 * @param definitions  list of holidays to include into the holiday set
+	 * @param cacheBuilder builder for the cache of holiday instances per year
+	 */
+	public HolidaySet(final Collection<Holiday> definitions, final YearCacheBuilder cacheBuilder) {
+		this(definitions, cacheBuilder, HolidayMetrics.NOOP);
+	}
+
+	/**
+	 * Create a new set of holidays from list of holiday definitions using a
+	 * specific cache for the instances of each year and reporting cache hits and
+	 * misses as well as the time spent for computing each year to the specified
+	 * metrics listener.
+	 *
+	 * @param definitions  list of holidays to include into the holiday set
+	 * @param cacheBuilder builder for the cache of holiday instances per year
+	 * @param metrics      listener for metrics
+	 */
+	public HolidaySet(final Collection<Holiday> definitions, final YearCacheBuilder cacheBuilder,
+			final HolidayMetrics metrics) {
 		this.definitions.addAll(definitions);
+		this.plan = EvaluationPlan.compile(this.definitions.toArray(new Holiday[0]), true);
+		this.cache = cacheBuilder.build();
+		this.metrics = metrics;
+		for (int i = 0; i < this.definitions.size(); i++) {
+			final int[] previous = definitionsByName.getOrDefault(this.definitions.get(i).getName(), new int[0]);
+			final int[] indices = Arrays.copyOf(previous, previous.length + 1);
+			indices[previous.length] = i;
+			definitionsByName.put(this.definitions.get(i).getName(), indices);
+		}
+	}
+
+	/**
+	 * Return list of holidays of the specified category occurring on the given
+	 * date.
+	 *
+	 * @param date     date
+	 * @param category category of the holidays, see {@link Holiday#getCategory()}
+	 * @return list of holidays of the specified category occurring on the given
+	 *         date. If there is no such holiday on given date, then list is empty.
+	 */
+	public List<Holiday> instances(final LocalDate date, final String category) {
+		final int index = plan.categoryIndex(category);
+		if (index < 0) {
+			return Collections.emptyList();
+		}
+		return year(date.getYear()).instances(date.toEpochDay(), index);
 	}
 
 	/**
-	 * Return List of holidays occurring on the given date.
+	 * Return list of all holiday instances of the specified category occurring in
+	 * the given range of dates.
 	 *
-	 * @param date date
-	 * @return List of holidays occurring on the given date. If there is no holiday
-	 *         on given date, then list is empty.
+	 * @param from     first date of the range, inclusive
+	 * @param to       last date of the range, inclusive
+	 * @param category category of the holidays, see {@link Holiday#getCategory()}
+	 * @return list of holiday instances sorted by date. Instances on the same date
+	 *         are sorted by the order of their definitions.
 	 */
-	public List<Holiday> instances(final LocalDate date) {
-		cacheHolidays(date.getYear());
+	public List<HolidayInstance> instances(final LocalDate from, final LocalDate to, final String category) {
+		return stream(from, to, category).toList();
+	}
 
-		final List<Holiday> instances = holidayInstances.get(date);
-		if (instances == null) {
-			return Collections.<Holiday>emptyList();
+	/**
+	 * Stream all holiday instances of the specified category occurring in the
+	 * given range of dates. The holiday instances of each year are computed only
+	 * when the stream reaches the year.
+	 *
+	 * @param from     first date of the range, inclusive
+	 * @param to       last date of the range, inclusive
+	 * @param category category of the holidays, see {@link Holiday#getCategory()}
+	 * @return stream of holiday instances sorted by date. Instances on the same
+	 *         date are sorted by the order of their definitions.
+	 */
+	public Stream<HolidayInstance> stream(final LocalDate from, final LocalDate to, final String category) {
+		if (to.isBefore(from)) {
+			throw new IllegalArgumentException("Argument to (" + to + ") must not be before from (" + from + ")");
 		}
-		return instances;
+		final int index = plan.categoryIndex(category);
+		if (index < 0) {
+			return Stream.empty();
+		}
+		final long fromEpochDay = from.toEpochDay();
+		final long toEpochDay = to.toEpochDay();
+		return IntStream.rangeClosed(from.getYear(), to.getYear())
+				.mapToObj(this::year)
+				.flatMap(instances -> instances.stream(fromEpochDay, toEpochDay, index));
+	}
+
+	/**
+	 * Check if there is a holiday of the specified category on the given date.
+	 *
+	 * @param date     date
+	 * @param category category of the holidays, see {@link Holiday#getCategory()}
+	 * @return {@code true} if at least one holiday of the specified category
+	 *         occurs on the given date
+	 */
+	public boolean isHoliday(final LocalDate date, final String category) {
+		final int index = plan.categoryIndex(category);
+		return index >= 0 && year(date.getYear()).contains(date.toEpochDay(), index);
+	}
+
+	/**
+	 * Find the definitions of the holidays with the specified name.
+	 *
+	 * @param name name of the holidays, see {@link Holiday#getName()}
+	 * @return list of definitions with the specified name in the order of the
+	 *         definitions of this holiday set
+	 */
+	public List<Holiday> findDefinitions(final String name) {
+		return IntStream.of(definitionsByName.getOrDefault(name, new int[0]))
+				.mapToObj(definitions::get)
+				.toList();
 	}
 
-	private void cacheHolidays(final int year) {
-		if (years.contains(year)) {
-			return;
+	/**
+	 * Compute the instances of the holidays with the specified name in a range of
+	 * years. Only the definitions with this name are evaluated, the cache for the
+	 * instances of all holidays is neither used nor filled.
+	 *
+	 * @param name     name of the holidays, see {@link Holiday#getName()}
+	 * @param fromYear first year, inclusive
+	 * @param toYear   last year, inclusive
+	 * @return list of holiday instances sorted by date. Instances on the same date
+	 *         are sorted by the order of their definitions.
+	 */
+	public List<HolidayInstance> occurrences(final String name, final int fromYear, final int toYear) {
+		validateYearRange(fromYear, toYear);
+		return occurrences(definitionsByName.getOrDefault(name, new int[0]), fromYear, toYear);
+	}
+
+	/**
+	 * Compute the instances of the holidays with the specified category and name
+	 * in a range of years, see {@link #occurrences(String, int, int)}.
+	 *
+	 * @param category category of the holidays, see {@link Holiday#getCategory()}
+	 * @param name     name of the holidays, see {@link Holiday#getName()}
+	 * @param fromYear first year, inclusive
+	 * @param toYear   last year, inclusive
+	 * @return list of holiday instances sorted by date. Instances on the same date
+	 *         are sorted by the order of their definitions.
+	 */
+	public List<HolidayInstance> occurrences(final String category, final String name, final int fromYear,
+			final int toYear) {
+		validateYearRange(fromYear, toYear);
+		final int[] indices = IntStream.of(definitionsByName.getOrDefault(name, new int[0]))
+				.filter(i -> definitions.get(i).getCategory().equals(category))
+				.toArray();
+		return occurrences(indices, fromYear, toYear);
+	}
+
+	private List<HolidayInstance> occurrences(final int[] indices, final int fromYear, final int toYear) {
+		final List<HolidayInstance> result = new ArrayList<>();
+		final long[] keys = new long[indices.length];
+		for (int year = fromYear; year <= toYear; year++) {
+			final long firstDay = EpochDays.of(year, 1, 1);
+			final long nextYear = EpochDays.of(year + 1, 1, 1);
+			for (int i = 0; i < indices.length; i++) {
+				keys[i] = definitions.get(indices[i]).epochDayOf(year);
+			}
+			final int n = YearInstances.sortByDate(keys, firstDay, nextYear);
+			for (int i = 0; i < n; i++) {
+				result.add(new HolidayInstance(LocalDate.ofEpochDay(firstDay + (keys[i] >>> 32)),
+						definitions.get(indices[(int) keys[i]])));
+			}
 		}
+		return result;
+	}
 
-		for (final Holiday holiday : definitions) {
-			final LocalDate date = holiday.of(year);
-			final List<Holiday> entry = holidayInstances.computeIfAbsent(date, d -> new ArrayList<>());
-			entry.add(holiday);
+	/**
+	 * Compute the holiday instances of a range of years in advance and store them
+	 * in the cache. The years are computed in parallel by the common fork-join
+	 * pool. Years already contained in the cache are skipped.
+	 *
+	 * <p>
+	 * For a bounded cache, see {@link YearCacheBuilder#withMaximumSize(int)}, the
+	 * range should not exceed the maximum size of the cache, as otherwise the
+	 * cache evicts some of the precomputed years.
+	 * </p>
+	 *
+	 * @param fromYear first year, inclusive
+	 * @param toYear   last year, inclusive
+	 * @return time spent for precomputation
+	 */
+	public Duration precompute(final int fromYear, final int toYear) {
+		validateYearRange(fromYear, toYear);
+		final long start = System.nanoTime();
+		final int[] missing = missingYears(fromYear, toYear);
+		final YearInstances[] years = new YearInstances[missing.length];
+		IntStream.range(0, missing.length).parallel()
+				.forEach(i -> years[i] = YearInstances.compute(missing[i], plan, metrics));
+		for (int i = 0; i < years.length; i++) {
+			cache.put(missing[i], years[i]);
 		}
-		years.add(year);
+		return Duration.ofNanos(System.nanoTime() - start);
+	}
+
+	/**
+	 * Compute the holiday instances of a range of years asynchronously and store
+	 * them in the cache, see {@link #precompute(int, int)}. Each year is computed
+	 * by a separate task submitted to the specified executor.
+	 *
+	 * <p>
+	 * The returned future completes after all years are stored in the cache.
+	 * Unless the holiday set uses a cache supporting concurrent access, see
+	 * {@link YearCacheBuilder#concurrent()}, the holiday set must not be accessed
+	 * before.
+	 * </p>
+	 *
+	 * @param fromYear first year, inclusive
+	 * @param toYear   last year, inclusive
+	 * @param executor executor for computing the years
+	 * @return future providing the time spent for precomputation
+	 */
+	public CompletableFuture<Duration> precomputeAsync(final int fromYear, final int toYear,
+			final Executor executor) {
+		validateYearRange(fromYear, toYear);
+		final long start = System.nanoTime();
+		final int[] missing = missingYears(fromYear, toYear);
+		final List<CompletableFuture<YearInstances>> years = IntStream.of(missing)
+				.mapToObj(year -> CompletableFuture.supplyAsync(
+						() -> YearInstances.compute(year, plan, metrics), executor))
+				.toList();
+		return CompletableFuture.allOf(years.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+			for (int i = 0; i < years.size(); i++) {
+				cache.put(missing[i], years.get(i).join());
+			}
+			return Duration.ofNanos(System.nanoTime() - start);
+		});
+	}
+
+	private int[] missingYears(final int fromYear, final int toYear) {
+		return IntStream.rangeClosed(fromYear, toYear).filter(year -> !cache.contains(year)).toArray();
+	}
+
+	private static void validateYearRange(final int fromYear, final int toYear) {
+		if (toYear < fromYear) {
+			throw new IllegalArgumentException(
+					"Argument toYear (" + toYear + ") must not be before fromYear (" + fromYear + ")");
+		}
+	}
+
+	@Override
+	YearInstances year(final int year) {
+		if (metrics == HolidayMetrics.NOOP) {
+			return cache.get(year, y -> YearInstances.compute(y, plan));
+		}
+		final boolean[] computed = { false };
+		final YearInstances instances = cache.get(year, y -> {
+			computed[0] = true;
+			return YearInstances.compute(y, plan, metrics);
+		});
+		if (computed[0]) {
+			metrics.cacheMiss(year);
+		} else {
+			metrics.cacheHit(year);
+		}
+		return instances;
+	}
+
+	@Override
+	YearInstances peekYear(final int year) {
+		if (cache.contains(year)) {
+			return year(year);
+		}
+		return YearInstances.computeUncached(year, plan);
+	}
+
+	/**
+	 * Get a snapshot of the statistics of the cache for the holiday instances of
+	 * each year. This enables to size a bounded cache, see
+	 * {@link YearCacheBuilder#withMaximumSize(int)}.
+	 *
+	 * @return statistics of the cache
+	 */
+	public CacheStatistics getCacheStatistics() {
+		return cache.getStatistics();
+	}
+
+	int cachedYears() {
+		return cache.size();
+	}
+
+	@Override
+	Holiday[] definitions() {
+		return plan.definitions();
 	}
 
 	List<Holiday> getDefinitions() {
@@ -0,0 +1,174 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Immutable index of the regions of a {@link HolidayRegistry} having a holiday
+ * on each day of a range of years, see {@link HolidayRegistry#index(int, int)}.
+ *
+ * <p>
+ * The index stores a bit mask for each day, bit {@code n} representing the
+ * {@code n}-th region in alphabetical order. Sets of regions are represented by
+ * bit masks as well, see {@link #mask(Collection)}, so queries for multiple
+ * regions are bitwise operations and searching a day scans an array of
+ * {@code long} values.
+ * </p>
+ */
+public final class RegionIndex {
+
+	/** Maximum number of regions supported by the index. */
+	public static final int MAX_REGIONS = Long.SIZE;
+
+	private final List<String> regions;
+	private final long firstDay;
+	private final long[] days;
+
+	RegionIndex(final List<String> regions, final long firstDay, final long[] days) {
+		this.regions = Collections.unmodifiableList(regions);
+		this.firstDay = firstDay;
+		this.days = days;
+	}
+
+	/**
+	 * Get the names of the regions in the order of their bits.
+	 *
+	 * @return list of region names sorted alphabetically
+	 */
+	public List<String> getRegions() {
+		return regions;
+	}
+
+	/**
+	 * Get the first day covered by the index.
+	 *
+	 * @return first day
+	 */
+	public LocalDate getFirstDay() {
+		return LocalDate.ofEpochDay(firstDay);
+	}
+
+	/**
+	 * Get the last day covered by the index.
+	 *
+	 * @return last day
+	 */
+	public LocalDate getLastDay() {
+		return LocalDate.ofEpochDay(firstDay + days.length - 1);
+	}
+
+	/**
+	 * Get the bit mask representing the specified regions.
+	 *
+	 * @param regionNames names of the regions
+	 * @return bit mask with one bit for each of the regions
+	 * @throws IllegalArgumentException if the index does not contain one of the
+	 *                                  regions
+	 */
+	public long mask(final Collection<String> regionNames) {
+		long mask = 0;
+		for (final String region : regionNames) {
+			final int bit = regions.indexOf(region);
+			if (bit < 0) {
+				throw new IllegalArgumentException("Unknown region '" + region + "'");
+			}
+			mask |= 1L << bit;
+		}
+		return mask;
+	}
+
+	/**
+	 * Get the names of the regions represented by the specified bit mask.
+	 *
+	 * @param mask bit mask
+	 * @return sorted set of region names
+	 */
+	public SortedSet<String> regions(final long mask) {
+		final SortedSet<String> result = new TreeSet<>();
+		for (long m = mask; m != 0; m &= m - 1) {
+			final int bit = Long.numberOfTrailingZeros(m);
+			if (bit < regions.size()) {
+				result.add(regions.get(bit));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get the bit mask of the regions having a holiday on the specified date.
+	 *
+	 * @param date date
+	 * @return bit mask of the regions having a holiday
+	 * @throws IllegalArgumentException if the date is not covered by the index
+	 */
+	public long holidayMask(final LocalDate date) {
+		return days[index(date)];
+	}
+
+	/**
+	 * Get the names of the regions having a holiday on the specified date.
+	 *
+	 * @param date date
+	 * @return sorted set of region names
+	 * @throws IllegalArgumentException if the date is not covered by the index
+	 */
+	public SortedSet<String> regionsWithHoliday(final LocalDate date) {
+		return regions(holidayMask(date));
+	}
+
+	/**
+	 * Find the first day on or after the specified date on which none of the
+	 * specified regions has a holiday.
+	 *
+	 * @param date       date to start the search from, inclusive
+	 * @param regionMask bit mask of the regions, see {@link #mask(Collection)}
+	 * @return first day without holiday in any of the regions or empty
+	 *         {@link Optional} if there is no such day until the last day covered
+	 *         by the index
+	 * @throws IllegalArgumentException if the date is not covered by the index
+	 */
+	public Optional<LocalDate> nextDayWithoutHoliday(final LocalDate date, final long regionMask) {
+		for (int i = index(date); i < days.length; i++) {
+			if ((days[i] & regionMask) == 0) {
+				return Optional.of(LocalDate.ofEpochDay(firstDay + i));
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Find the first day on or after the specified date that is not on a weekend
+	 * and on which none of the specified regions has a holiday.
+	 *
+	 * @param date       date to start the search from, inclusive
+	 * @param regionMask bit mask of the regions, see {@link #mask(Collection)}
+	 * @param weekend    days of the week not counting as working days
+	 * @return first common working day of the regions or empty {@link Optional}
+	 *         if there is no such day until the last day covered by the index
+	 * @throws IllegalArgumentException if the date is not covered by the index
+	 */
+	public Optional<LocalDate> nextCommonWorkingDay(final LocalDate date, final long regionMask,
+			final Set<DayOfWeek> weekend) {
+		int weekendMask = 0;
+		for (final DayOfWeek day : weekend) {
+			weekendMask |= 1 << (day.getValue() - 1);
+		}
+		for (int i = index(date); i < days.length; i++) {
+			if ((days[i] & regionMask) == 0
+					&& (weekendMask & (1 << (EpochDays.dayOfWeek(firstDay + i) - 1))) == 0) {
+				return Optional.of(LocalDate.ofEpochDay(firstDay + i));
+			}
+		}
+		return Optional.empty();
+	}
+
+	private int index(final LocalDate date) {
+		final long index = date.toEpochDay() - firstDay;
+		if (index < 0 || index >= days.length) {
+			throw new IllegalArgumentException("Date " + date + " is outside of the indexed range "
+					+ getFirstDay() + " to " + getLastDay());
+		}
+		return (int) index;
+	}
+}
@@ -0,0 +1,303 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Year;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.itsallcode.holidays.calculator.logic.cache.YearCacheBuilder;
+import org.itsallcode.holidays.calculator.logic.metrics.HolidayMetrics;
+import org.itsallcode.holidays.calculator.logic.parser.HolidayParser;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides a {@link HolidaySet} built from one or more configuration files and
+ * replaces it whenever one of the files changes.
+ *
+ * <p>
+ * After {@link #start()} a background thread watches the directories of the
+ * files using a {@link WatchService}. On change it parses all files again,
+ * builds a new holiday set, optionally precomputes a window of years around the
+ * current year, and only then replaces the current holiday set. Readers calling
+ * {@link #get()} never block and never see a partially built holiday set. A
+ * holiday set obtained before a reload stays valid and unchanged.
+ * </p>
+ *
+ * <p>
+ * If a file cannot be read, e.g. because it has been deleted, then the current
+ * holiday set is kept. Lines that cannot be parsed are skipped and reported by
+ * {@link #getErrors()}.
+ * </p>
+ *
+ * <p>
+ * The files are read completely into memory rather than mapped, so they are
+ * never locked and editors can replace them at any time.
+ * </p>
+ *
+ * <p>
+ * As the holiday set is shared between threads, it uses a concurrent cache by
+ * default, see {@link YearCacheBuilder#concurrent()}.
+ * </p>
+ */
+public class ReloadableHolidaySource implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReloadableHolidaySource.class);
+
+	/**
+	 * Time to wait for further changes after a change before reloading, as editors
+	 * usually trigger multiple events when saving a file.
+	 */
+	private static final long DEBOUNCE_MILLIS = 100;
+
+	private final List<Path> files;
+	private final HolidayParser holidayParser = new HolidayParser();
+	private final List<Consumer<HolidaySet>> listeners = new CopyOnWriteArrayList<>();
+	private final Object reloadLock = new Object();
+	private YearCacheBuilder cacheBuilder = new YearCacheBuilder().concurrent();
+	private int prewarmedYears = -1;
+	private HolidayMetrics metrics = HolidayMetrics.NOOP;
+
+	private volatile HolidaySet current;
+	private volatile Map<Path, List<HolidaysFileParser.Error>> errors = Collections.emptyMap();
+	private volatile boolean closed;
+	private WatchService watchService;
+	private Thread watcher;
+
+	/**
+	 * Create a new source for the holidays defined in the specified files.
+	 *
+	 * @param files configuration files
+	 */
+	public ReloadableHolidaySource(final Path... files) {
+		this(Arrays.asList(files));
+	}
+
+	/**
+	 * Create a new source for the holidays defined in the specified files.
+	 *
+	 * @param files configuration files
+	 */
+	public ReloadableHolidaySource(final Collection<Path> files) {
+		if (files.isEmpty()) {
+			throw new IllegalArgumentException("Argument files must not be empty");
+		}
+		this.files = files.stream().map(p -> p.toAbsolutePath().normalize()).distinct().toList();
+	}
+
+	/**
+	 * Use the specified builder for the cache of each new holiday set. Default is
+	 * a concurrent cache.
+	 *
+	 * @param cacheBuilder builder for the cache of each holiday set
+	 * @return self for fluent programming
+	 */
+	public ReloadableHolidaySource withCacheBuilder(final YearCacheBuilder cacheBuilder) {
+		this.cacheBuilder = cacheBuilder;
+		return this;
+	}
+
+	/**
+	 * Precompute the holidays of the specified number of years before and after
+	 * the current year for each new holiday set before replacing the current one,
+	 * see {@link HolidaySet#precompute(int, int)}. Default is to not precompute
+	 * any year.
+	 *
+	 * @param yearsAroundCurrentYear number of years before and after the current
+	 *                               year
+	 * @return self for fluent programming
+	 */
+	public ReloadableHolidaySource withPrewarmedYears(final int yearsAroundCurrentYear) {
+		if (yearsAroundCurrentYear < 0) {
+			throw new IllegalArgumentException(
+					"Argument yearsAroundCurrentYear must be >= 0, but was " + yearsAroundCurrentYear);
+		}
+		this.prewarmedYears = yearsAroundCurrentYear;
+		return this;
+	}
+
+	/**
+	 * Report metrics of parsing the files and of each new holiday set to the
+	 * specified metrics listener, which must be thread-safe.
+	 *
+	 * @param metrics listener for metrics
+	 * @return self for fluent programming
+	 */
+	public ReloadableHolidaySource withMetrics(final HolidayMetrics metrics) {
+		this.metrics = metrics;
+		return this;
+	}
+
+	/**
+	 * Notify the specified listener after each reload with the new holiday set.
+	 * The listener is called by the thread performing the reload.
+	 *
+	 * @param listener listener to notify
+	 * @return self for fluent programming
+	 */
+	public ReloadableHolidaySource withListener(final Consumer<HolidaySet> listener) {
+		this.listeners.add(listener);
+		return this;
+	}
+
+	/**
+	 * Start watching the files for changes and load them. The directories are
+	 * registered before loading, so changes during the initial load trigger
+	 * another reload.
+	 *
+	 * @return self for fluent programming
+	 * @throws IOException in case of failures reading the files or registering
+	 *                     the watch service
+	 */
+	public synchronized ReloadableHolidaySource start() throws IOException {
+		if (closed) {
+			throw new IllegalStateException("Source has already been closed");
+		}
+		if (watcher != null) {
+			throw new IllegalStateException("Source has already been started");
+		}
+		watchService = files.get(0).getFileSystem().newWatchService();
+		try {
+			for (final Path dir : new LinkedHashSet<>(files.stream().map(Path::getParent).toList())) {
+				dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+			}
+			reload();
+		} catch (final IOException | RuntimeException e) {
+			watchService.close();
+			throw e;
+		}
+		watcher = new Thread(this::watch, "holiday-reload-" + files.get(0).getFileName());
+		watcher.setDaemon(true);
+		watcher.start();
+		return this;
+	}
+
+	/**
+	 * Get the current holiday set.
+	 *
+	 * @return current holiday set
+	 * @throws IllegalStateException if the files have not been loaded yet
+	 */
+	public HolidaySet get() {
+		final HolidaySet holidaySet = current;
+		if (holidaySet == null) {
+			throw new IllegalStateException("Holidays have not been loaded yet, please call start() or reload()");
+		}
+		return holidaySet;
+	}
+
+	/**
+	 * Get the errors that occurred during the last successful reload.
+	 *
+	 * @return map from each file with errors to the list of its errors
+	 */
+	public Map<Path, List<HolidaysFileParser.Error>> getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Parse all files immediately and replace the current holiday set. Does
+	 * nothing after the source has been closed.
+	 *
+	 * @throws IOException in case of failures reading the files, the current
+	 *                     holiday set is kept then
+	 */
+	public void reload() throws IOException {
+		synchronized (reloadLock) {
+			if (closed) {
+				return;
+			}
+			final List<Holiday> holidays = new ArrayList<>();
+			final Map<Path, List<HolidaysFileParser.Error>> newErrors = new LinkedHashMap<>();
+			for (final Path file : files) {
+				final HolidaysFileParser parser = new HolidaysFileParser(file.toString(), holidayParser)
+						.withMetrics(metrics);
+				holidays.addAll(parser.parse(new ByteArrayInputStream(Files.readAllBytes(file))));
+				if (!parser.getErrors().isEmpty()) {
+					newErrors.put(file, parser.getErrors());
+				}
+			}
+
+			final HolidaySet holidaySet = new HolidaySet(holidays, cacheBuilder, metrics);
+			if (prewarmedYears >= 0) {
+				final int year = Year.now().getValue();
+				holidaySet.precompute(year - prewarmedYears, year + prewarmedYears);
+			}
+			if (closed) {
+				return;
+			}
+			errors = Collections.unmodifiableMap(newErrors);
+			current = holidaySet;
+			listeners.forEach(listener -> listener.accept(holidaySet));
+		}
+	}
+
+	/**
+	 * Stop watching the files and wait for a reload in progress to finish. The
+	 * current holiday set remains available, but is not replaced anymore.
+	 *
+	 * @throws IOException in case of failures closing the watch service
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		closed = true;
+		if (watchService != null) {
+			watchService.close();
+		}
+		if (watcher != null && watcher != Thread.currentThread()) {
+			watcher.interrupt();
+			try {
+				watcher.join();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void watch() {
+		try {
+			while (true) {
+				boolean changed = isRelevant(watchService.take());
+				WatchKey key;
+				while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					changed |= isRelevant(key);
+				}
+				if (changed) {
+					reloadAfterChange();
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (final ClosedWatchServiceException e) {
+			// source has been closed
+		}
+	}
+
+	private boolean isRelevant(final WatchKey key) {
+		final Path dir = (Path) key.watchable();
+		boolean relevant = false;
+		for (final WatchEvent<?> event : key.pollEvents()) {
+			relevant |= event.kind() == OVERFLOW || files.contains(dir.resolve((Path) event.context()));
+		}
+		key.reset();
+		return relevant;
+	}
+
+	private void reloadAfterChange() {
+		try {
+			reload();
+			LOG.info("Reloaded holidays from {}", files);
+		} catch (final IOException | RuntimeException e) {
+			LOG.warn("Failed to reload holidays from {}, keeping previous holidays", files, e);
+		}
+	}
+}
@@ -0,0 +1,505 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.itsallcode.holidays.calculator.logic.jfr.YearCacheFillEvent;
+import org.itsallcode.holidays.calculator.logic.metrics.HolidayMetrics;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+
+/**
+ * Immutable instances of all holidays of a {@link HolidaySet} in a particular
+ * year.
+ *
+ * <p>
+ * The instances are stored in two parallel arrays sorted by date: the day of
+ * the year and the index of the holiday in the definitions of the holiday set,
+ * which are shared by all years. Instances on the same date are sorted by the
+ * order of their definitions. This takes 6 bytes per instance.
+ * </p>
+ *
+ * <p>
+ * If the plan partitions the instances by category, see
+ * {@link EvaluationPlan#compile(Holiday[], boolean)}, a third array contains
+ * the positions of the instances sorted by category and date, taking another 4
+ * bytes per instance. The instances of a single category can then be searched
+ * without filtering the instances of the other categories. Instances that are
+ * not partitioned all belong to category 0.
+ * </p>
+ */
+final class YearInstances {
+
+	private final long firstDay;
+	/** Day of year of each instance, starting with 0 */
+	private final short[] daysOfYear;
+	/** Index of the definition of each instance */
+	private final int[] indices;
+	private final Holiday[] definitions;
+	/** Start of each category in {@link #byCategory}, {@code null} if not partitioned */
+	private final int[] categoryStarts;
+	/** Positions of the instances sorted by category and date */
+	private final int[] byCategory;
+
+	private YearInstances(final long firstDay, final short[] daysOfYear, final int[] indices,
+			final Holiday[] definitions) {
+		this(firstDay, daysOfYear, indices, definitions, null, null);
+	}
+
+	private YearInstances(final long firstDay, final short[] daysOfYear, final int[] indices,
+			final Holiday[] definitions, final int[] categoryStarts, final int[] byCategory) {
+		this.firstDay = firstDay;
+		this.daysOfYear = daysOfYear;
+		this.indices = indices;
+		this.definitions = definitions;
+		this.categoryStarts = categoryStarts;
+		this.byCategory = byCategory;
+	}
+
+	/**
+	 * Compute the instances of the holidays of the specified plan in the specified
+	 * year. Holidays without an instance in this year are skipped.
+	 *
+	 * @param year year to compute the instances for
+	 * @param plan plan for evaluating the definitions of the holidays
+	 * @return instances in the specified year
+	 */
+	static YearInstances compute(final int year, final EvaluationPlan plan) {
+		return compute(year, plan, HolidayMetrics.NOOP);
+	}
+
+	/**
+	 * Compute the instances of the holidays of the specified plan in the specified
+	 * year and report the time spent to the specified metrics listener. Unless the
+	 * listener is {@link HolidayMetrics#NOOP} the plan additionally measures the
+	 * time spent for the definitions of each subclass of {@link Holiday}.
+	 *
+	 * @param year    year to compute the instances for
+	 * @param plan    plan for evaluating the definitions of the holidays
+	 * @param metrics listener for metrics
+	 * @return instances in the specified year
+	 */
+	static YearInstances compute(final int year, final EvaluationPlan plan, final HolidayMetrics metrics) {
+		final YearCacheFillEvent event = new YearCacheFillEvent();
+		event.begin();
+		final boolean timed = metrics != HolidayMetrics.NOOP;
+		final long start = timed ? System.nanoTime() : 0;
+		final EvaluationPlan.VariantTimes variantTimes = timed ? new EvaluationPlan.VariantTimes() : null;
+		final YearInstances instances = evaluate(year, plan, variantTimes);
+		event.end();
+		if (event.shouldCommit()) {
+			event.year = year;
+			event.definitions = plan.definitions().length;
+			event.instances = instances.size();
+			event.commit();
+		}
+		if (timed) {
+			variantTimes.report(year, metrics);
+			metrics.yearComputed(year, plan.definitions().length, System.nanoTime() - start);
+		}
+		return instances;
+	}
+
+	/**
+	 * Compute the instances of the holidays of the specified plan in the specified
+	 * year for a caller that does not store them in a cache, e.g. when searching
+	 * many years. Neither emits a {@link YearCacheFillEvent} nor reports metrics.
+	 *
+	 * @param year year to compute the instances for
+	 * @param plan plan for evaluating the definitions of the holidays
+	 * @return instances in the specified year
+	 */
+	static YearInstances computeUncached(final int year, final EvaluationPlan plan) {
+		return evaluate(year, plan, null);
+	}
+
+	private static YearInstances evaluate(final int year, final EvaluationPlan plan,
+			final EvaluationPlan.VariantTimes variantTimes) {
+		final Holiday[] definitions = plan.definitions();
+		final long firstDay = EpochDays.of(year, 1, 1);
+		final long nextYear = EpochDays.of(year + 1, 1, 1);
+		final long[] keys = new long[definitions.length];
+		plan.evaluate(year, firstDay, keys, variantTimes);
+		final int n = sortByDate(keys, firstDay, nextYear);
+
+		final short[] daysOfYear = new short[n];
+		final int[] indices = new int[n];
+		for (int i = 0; i < n; i++) {
+			daysOfYear[i] = (short) (keys[i] >>> 32);
+			indices[i] = (int) keys[i];
+		}
+		if (plan.categoryCount() < 2) {
+			return new YearInstances(firstDay, daysOfYear, indices, definitions);
+		}
+		return partitionByCategory(firstDay, daysOfYear, indices, plan);
+	}
+
+	/**
+	 * Sort the instances of a year by date and then by index of their definition.
+	 * Instances outside of the year are dropped.
+	 *
+	 * @param epochDays array containing the epoch day of each definition or
+	 *                  {@link Holiday#NO_OCCURRENCE}, replaced by the sorted keys
+	 *                  of the instances in the year. Each key contains the day of
+	 *                  year in the upper and the index of the definition in the
+	 *                  lower 32 bits.
+	 * @param firstDay  epoch day of the first day of the year
+	 * @param nextYear  epoch day of the first day of the following year
+	 * @return number of instances in the year, i.e. the number of valid keys
+	 */
+	static int sortByDate(final long[] epochDays, final long firstDay, final long nextYear) {
+		int n = 0;
+		for (int i = 0; i < epochDays.length; i++) {
+			final long epochDay = epochDays[i];
+			if (epochDay != Holiday.NO_OCCURRENCE && epochDay >= firstDay && epochDay < nextYear) {
+				// reusing the array as n <= i
+				epochDays[n++] = ((epochDay - firstDay) << 32) | i;
+			}
+		}
+		Arrays.sort(epochDays, 0, n);
+		return n;
+	}
+
+	/**
+	 * Partition the instances by category using a counting sort, keeping the
+	 * instances of each category sorted by date.
+	 */
+	private static YearInstances partitionByCategory(final long firstDay, final short[] daysOfYear,
+			final int[] indices, final EvaluationPlan plan) {
+		final int[] categoryStarts = new int[plan.categoryCount() + 1];
+		for (final int index : indices) {
+			categoryStarts[plan.category(index) + 1]++;
+		}
+		for (int c = 1; c < categoryStarts.length; c++) {
+			categoryStarts[c] += categoryStarts[c - 1];
+		}
+		final int[] next = Arrays.copyOf(categoryStarts, categoryStarts.length - 1);
+		final int[] byCategory = new int[indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			byCategory[next[plan.category(indices[i])]++] = i;
+		}
+		return new YearInstances(firstDay, daysOfYear, indices, plan.definitions(), categoryStarts, byCategory);
+	}
+
+	/**
+	 * Merge the instances of two calendars in the same year.
+	 *
+	 * @param first         instances of the first calendar
+	 * @param second        instances of the second calendar in the same year
+	 * @param secondIndices index in the merged definitions of each definition of
+	 *                      the second calendar
+	 * @param definitions   merged definitions, starting with the definitions of
+	 *                      the first calendar
+	 * @return instances of both calendars sorted by date and index of the merged
+	 *         definitions, instances with the same date and definition are
+	 *         contained only once
+	 */
+	static YearInstances union(final YearInstances first, final YearInstances second, final int[] secondIndices,
+			final Holiday[] definitions) {
+		final long[] secondKeys = new long[second.size()];
+		boolean sorted = true;
+		for (int i = 0; i < secondKeys.length; i++) {
+			secondKeys[i] = key(second.daysOfYear[i], secondIndices[second.indices[i]]);
+			sorted &= i == 0 || secondKeys[i - 1] <= secondKeys[i];
+		}
+		if (!sorted) {
+			Arrays.sort(secondKeys);
+		}
+
+		final short[] daysOfYear = new short[first.size() + secondKeys.length];
+		final int[] indices = new int[daysOfYear.length];
+		int n = 0;
+		int i = 0;
+		int j = 0;
+		while (i < first.size() || j < secondKeys.length) {
+			final long firstKey = i < first.size() ? key(first.daysOfYear[i], first.indices[i]) : Long.MAX_VALUE;
+			final long secondKey = j < secondKeys.length ? secondKeys[j] : Long.MAX_VALUE;
+			final long next = Math.min(firstKey, secondKey);
+			if (firstKey == next) {
+				i++;
+			}
+			// equal definitions of the second calendar map to the same index
+			while (j < secondKeys.length && secondKeys[j] == next) {
+				j++;
+			}
+			daysOfYear[n] = (short) (next >>> 32);
+			indices[n] = (int) next;
+			n++;
+		}
+		return new YearInstances(first.firstDay, Arrays.copyOf(daysOfYear, n), Arrays.copyOf(indices, n),
+				definitions);
+	}
+
+	private static long key(final short dayOfYear, final int index) {
+		return ((long) dayOfYear << 32) | index;
+	}
+
+	/**
+	 * Select the instances on the days with or without any instance of another
+	 * calendar in the same year.
+	 *
+	 * @param other   instances of the other calendar in the same year
+	 * @param include {@code true} to select the instances on days with an instance
+	 *                of the other calendar, {@code false} to select the instances
+	 *                on days without
+	 * @return selected instances
+	 */
+	YearInstances filterByDates(final YearInstances other, final boolean include) {
+		final boolean[] selected = new boolean[size()];
+		int j = 0;
+		for (int i = 0; i < selected.length; i++) {
+			while (j < other.size() && other.daysOfYear[j] < daysOfYear[i]) {
+				j++;
+			}
+			selected[i] = (j < other.size() && other.daysOfYear[j] == daysOfYear[i]) == include;
+		}
+		return select(selected);
+	}
+
+	/**
+	 * Select the instances of specific definitions.
+	 *
+	 * @param definitionSelected whether to select the instances of each definition
+	 * @return selected instances
+	 */
+	YearInstances filterByDefinitions(final boolean[] definitionSelected) {
+		final boolean[] selected = new boolean[size()];
+		for (int i = 0; i < selected.length; i++) {
+			selected[i] = definitionSelected[indices[i]];
+		}
+		return select(selected);
+	}
+
+	private YearInstances select(final boolean[] selected) {
+		final short[] selectedDays = new short[selected.length];
+		final int[] selectedIndices = new int[selected.length];
+		int n = 0;
+		for (int i = 0; i < selected.length; i++) {
+			if (selected[i]) {
+				selectedDays[n] = daysOfYear[i];
+				selectedIndices[n] = indices[i];
+				n++;
+			}
+		}
+		if (n == selected.length) {
+			return this;
+		}
+		return new YearInstances(firstDay, Arrays.copyOf(selectedDays, n), Arrays.copyOf(selectedIndices, n),
+				definitions);
+	}
+
+	/**
+	 * @return number of instances in this year
+	 */
+	int size() {
+		return daysOfYear.length;
+	}
+
+	/**
+	 * @param index index of the instance, sorted by date
+	 * @return date of the instance as epoch day
+	 */
+	long epochDay(final int index) {
+		return firstDay + daysOfYear[index];
+	}
+
+	/**
+	 * @param index index of the instance, sorted by date
+	 * @return index of the definition of the instance
+	 */
+	int definitionIndex(final int index) {
+		return indices[index];
+	}
+
+	/**
+	 * Get the holidays occurring on the specified day.
+	 *
+	 * @param epochDay day to get the holidays for
+	 * @return immutable view of the holidays occurring on the specified day
+	 */
+	List<Holiday> instances(final long epochDay) {
+		final int from = firstIndexOnOrAfter(epochDay);
+		final int to = firstIndexOnOrAfter(epochDay + 1);
+		if (from == to) {
+			return Collections.emptyList();
+		}
+		return new HolidaysView(from, to);
+	}
+
+	/**
+	 * Get the holidays of the specified category occurring on the specified day.
+	 *
+	 * @param epochDay day to get the holidays for
+	 * @param category index of the category
+	 * @return immutable view of the holidays occurring on the specified day
+	 */
+	List<Holiday> instances(final long epochDay, final int category) {
+		if (categoryStarts == null) {
+			return category == 0 ? instances(epochDay) : Collections.emptyList();
+		}
+		final int from = firstIndexOnOrAfter(epochDay, category);
+		final int to = firstIndexOnOrAfter(epochDay + 1, category);
+		if (from == to) {
+			return Collections.emptyList();
+		}
+		return new HolidaysView(from, to, byCategory);
+	}
+
+	/**
+	 * @param epochDay day to check
+	 * @param category index of the category
+	 * @return {@code true} if there is an instance of the specified category on
+	 *         the specified day
+	 */
+	boolean contains(final long epochDay, final int category) {
+		final int index = firstIndexOnOrAfter(epochDay, category);
+		return index < categoryEnd(category) && epochDay(position(index)) == epochDay;
+	}
+
+	/**
+	 * Stream the instances of the specified category between the specified days.
+	 *
+	 * @param fromEpochDay first day, inclusive
+	 * @param toEpochDay   last day, inclusive
+	 * @param category     index of the category
+	 * @return stream of instances sorted by date
+	 */
+	Stream<HolidayInstance> stream(final long fromEpochDay, final long toEpochDay, final int category) {
+		return IntStream.range(firstIndexOnOrAfter(fromEpochDay, category),
+				firstIndexOnOrAfter(toEpochDay + 1, category))
+				.mapToObj(index -> instance(position(index)));
+	}
+
+	/**
+	 * Stream the instances between the specified days.
+	 *
+	 * @param fromEpochDay first day, inclusive
+	 * @param toEpochDay   last day, inclusive
+	 * @return stream of instances sorted by date
+	 */
+	Stream<HolidayInstance> stream(final long fromEpochDay, final long toEpochDay) {
+		return IntStream.range(firstIndexOnOrAfter(fromEpochDay), firstIndexOnOrAfter(toEpochDay + 1))
+				.mapToObj(this::instance);
+	}
+
+	/**
+	 * Stream the instances on or after the specified day.
+	 *
+	 * @param fromEpochDay first day, inclusive
+	 * @return stream of instances sorted by date
+	 */
+	Stream<HolidayInstance> streamFrom(final long fromEpochDay) {
+		return IntStream.range(firstIndexOnOrAfter(fromEpochDay), daysOfYear.length)
+				.mapToObj(this::instance);
+	}
+
+	/**
+	 * Get the last instance before the specified day.
+	 *
+	 * @param epochDay day to search for
+	 * @return last instance before the specified day or {@code null} if there is
+	 *         none
+	 */
+	HolidayInstance lastBefore(final long epochDay) {
+		final int index = firstIndexOnOrAfter(epochDay) - 1;
+		return index < 0 ? null : instance(index);
+	}
+
+	private HolidayInstance instance(final int index) {
+		return new HolidayInstance(LocalDate.ofEpochDay(epochDay(index)), definitions[indices[index]]);
+	}
+
+	/**
+	 * Binary search for the first instance on or after the specified day.
+	 *
+	 * @param epochDay day to search for
+	 * @return index of the first instance on or after the specified day or the
+	 *         number of instances if there is none
+	 */
+	int firstIndexOnOrAfter(final long epochDay) {
+		return firstIndexOnOrAfter(epochDay, 0, daysOfYear.length, null);
+	}
+
+	/**
+	 * Binary search for the first instance of the specified category on or after
+	 * the specified day.
+	 *
+	 * @param epochDay day to search for
+	 * @param category index of the category
+	 * @return index in the instances sorted by category, see
+	 *         {@link #position(int)}
+	 */
+	private int firstIndexOnOrAfter(final long epochDay, final int category) {
+		if (categoryStarts == null) {
+			return category == 0 ? firstIndexOnOrAfter(epochDay) : 0;
+		}
+		if (category < 0 || category >= categoryStarts.length - 1) {
+			return 0;
+		}
+		return firstIndexOnOrAfter(epochDay, categoryStarts[category], categoryStarts[category + 1], byCategory);
+	}
+
+	private int categoryEnd(final int category) {
+		if (categoryStarts == null) {
+			return category == 0 ? daysOfYear.length : 0;
+		}
+		return category < 0 || category >= categoryStarts.length - 1 ? 0 : categoryStarts[category + 1];
+	}
+
+	/**
+	 * @param index index in the instances sorted by category
+	 * @return index of the instance sorted by date
+	 */
+	private int position(final int index) {
+		return byCategory == null ? index : byCategory[index];
+	}
+
+	private int firstIndexOnOrAfter(final long epochDay, final int from, final int to, final int[] positions) {
+		final long dayOfYear = epochDay - firstDay;
+		int low = from;
+		int high = to;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (daysOfYear[positions == null ? mid : positions[mid]] < dayOfYear) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Immutable view of the holidays of a range of instances, without copying
+	 * them.
+	 */
+	private final class HolidaysView extends AbstractList<Holiday> implements RandomAccess {
+		private final int from;
+		private final int size;
+		/** Positions of the instances, {@code null} for consecutive instances */
+		private final int[] positions;
+
+		HolidaysView(final int from, final int to) {
+			this(from, to, null);
+		}
+
+		HolidaysView(final int from, final int to, final int[] positions) {
+			this.from = from;
+			this.size = to - from;
+			this.positions = positions;
+		}
+
+		@Override
+		public Holiday get(final int index) {
+			Objects.checkIndex(index, size);
+			final int position = positions == null ? from + index : positions[from + index];
+			return definitions[indices[position]];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package org.itsallcode.holidays.calculator.logic.cache;
+
+import java.time.Clock;
+import java.time.Year;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+import org.itsallcode.holidays.calculator.logic.jfr.YearCacheEvictionEvent;
+
+/**
+ * Year cache with a maximum number of years. When the cache exceeds its maximum
+ * size it evicts years according to an {@link EvictionPolicy}.
+ *
+ * <p>
+ * Optionally the cache pins a window of years around the current year. Pinned
+ * years are never evicted and do not count against the maximum size.
+ * </p>
+ *
+ * <p>
+ * The cache supports concurrent access by multiple threads in the same way as
+ * {@link ConcurrentYearCache}: Reading a cached year does not acquire any lock
+ * and each missing year is computed only once. Only threads that computed a
+ * new year synchronize with each other in order to evict other years.
+ * </p>
+ *
+ * @param <T> type of the values cached for each year
+ */
+class BoundedYearCache<T> implements YearCache<T> {
+
+	private static final class Entry<T> {
+		private final int year;
+		private final FutureTask<T> future;
+		private final LongAdder frequency = new LongAdder();
+		private volatile long lastAccess;
+
+		Entry(final int year, final FutureTask<T> future) {
+			this.year = year;
+			this.future = future;
+		}
+
+		void touch() {
+			lastAccess = System.nanoTime();
+			frequency.increment();
+		}
+	}
+
+	private final ConcurrentHashMap<Integer, Entry<T>> entries = new ConcurrentHashMap<>();
+	private final int maximumSize;
+	private final EvictionPolicy evictionPolicy;
+	private final int pinnedWindow;
+	private final Clock clock;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final Object evictionLock = new Object();
+
+	/**
+	 * Create a new bounded cache.
+	 *
+	 * @param maximumSize    maximum number of years that are not pinned
+	 * @param evictionPolicy policy for selecting the year to evict
+	 * @param pinnedWindow   number of years before and after the current year to
+	 *                       pin or a negative number for not pinning any years
+	 * @param clock          clock to determine the current year
+	 */
+	BoundedYearCache(final int maximumSize, final EvictionPolicy evictionPolicy, final int pinnedWindow,
+			final Clock clock) {
+		this.maximumSize = maximumSize;
+		this.evictionPolicy = evictionPolicy;
+		this.pinnedWindow = pinnedWindow;
+		this.clock = clock;
+	}
+
+	@Override
+	public T get(final int year, final IntFunction<T> loader) {
+		Entry<T> entry = entries.get(year);
+		boolean computed = false;
+		if (entry == null) {
+			final Entry<T> created = new Entry<>(year, new FutureTask<>(() -> loader.apply(year)));
+			entry = entries.putIfAbsent(year, created);
+			if (entry == null) {
+				entry = created;
+				computed = true;
+			}
+		}
+
+		entry.touch();
+		if (computed) {
+			misses.increment();
+			entry.future.run();
+		} else {
+			hits.increment();
+		}
+
+		final T value;
+		try {
+			value = Futures.awaitUninterruptibly(entry.future);
+		} catch (final ExecutionException e) {
+			// enable other threads to retry the computation
+			entries.remove(year, entry);
+			throw Futures.unwrap(e);
+		}
+
+		if (computed) {
+			evictIfNecessary(year);
+		}
+		return value;
+	}
+
+	@Override
+	public void put(final int year, final T value) {
+		final FutureTask<T> future = new FutureTask<>(() -> value);
+		future.run();
+		final Entry<T> entry = new Entry<>(year, future);
+		entry.touch();
+		if (entries.putIfAbsent(year, entry) == null) {
+			evictIfNecessary(year);
+		}
+	}
+
+	private void evictIfNecessary(final int newYear) {
+		synchronized (evictionLock) {
+			final int currentYear = Year.now(clock).getValue();
+			while (true) {
+				int size = 0;
+				Entry<T> victim = null;
+				for (final Entry<T> entry : entries.values()) {
+					if (isPinned(entry.year, currentYear)) {
+						continue;
+					}
+					size++;
+					if (entry.year != newYear && entry.future.isDone()
+							&& (victim == null || isPreferredVictim(entry, victim))) {
+						victim = entry;
+					}
+				}
+				if (size <= maximumSize || victim == null) {
+					return;
+				}
+				if (entries.remove(victim.year, victim)) {
+					evictions.increment();
+					final YearCacheEvictionEvent event = new YearCacheEvictionEvent();
+					if (event.shouldCommit()) {
+						event.year = victim.year;
+						event.insertedYear = newYear;
+						event.evictionPolicy = evictionPolicy.name();
+						event.commit();
+					}
+				}
+			}
+		}
+	}
+
+	private boolean isPinned(final int year, final int currentYear) {
+		return pinnedWindow >= 0 && Math.abs(year - currentYear) <= pinnedWindow;
+	}
+
+	private boolean isPreferredVictim(final Entry<T> candidate, final Entry<T> victim) {
+		if (evictionPolicy == EvictionPolicy.LFU) {
+			final long candidateFrequency = candidate.frequency.sum();
+			final long victimFrequency = victim.frequency.sum();
+			if (candidateFrequency != victimFrequency) {
+				return candidateFrequency < victimFrequency;
+			}
+		}
+		return candidate.lastAccess - victim.lastAccess < 0;
+	}
+
+	@Override
+	public boolean contains(final int year) {
+		return entries.containsKey(year);
+	}
+
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum());
+	}
+}
@@ -0,0 +1,57 @@
+package org.itsallcode.holidays.calculator.logic.cache;
+
+/**
+ * Snapshot of the statistics of a {@link YearCache}.
+ */
+public final class CacheStatistics {
+
+	private final long hits;
+	private final long misses;
+	private final long evictions;
+
+	/**
+	 * Create a new snapshot of cache statistics.
+	 *
+	 * @param hits      number of requests for years already contained in the cache
+	 * @param misses    number of requests for years that needed to be computed
+	 * @param evictions number of years evicted from the cache
+	 */
+	public CacheStatistics(final long hits, final long misses, final long evictions) {
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+	}
+
+	/**
+	 * Get the number of requests for years already contained in the cache.
+	 *
+	 * @return number of cache hits
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Get the number of requests for years that needed to be computed.
+	 *
+	 * @return number of cache misses
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Get the number of years evicted from the cache.
+	 *
+	 * @return number of evictions
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s(hits: %d, misses: %d, evictions: %d)",
+				this.getClass().getSimpleName(), hits, misses, evictions);
+	}
+}
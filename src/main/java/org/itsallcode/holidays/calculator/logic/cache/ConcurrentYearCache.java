@@ -0,0 +1,76 @@
+package org.itsallcode.holidays.calculator.logic.cache;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Year cache supporting concurrent access by multiple threads.
+ *
+ * <p>
+ * Reading a year that has already been computed does not acquire any lock. If
+ * multiple threads ask for the same missing year at the same time, then only
+ * one of them computes the value while the others wait for the result. Hence
+ * the loader is invoked at most once per year unless it throws an exception.
+ * </p>
+ *
+ * <p>
+ * The cache stores a {@link FutureTask} for each year. The task is inserted
+ * before the computation starts, completed values are published safely to all
+ * other threads by the task's completion.
+ * </p>
+ *
+ * @param <T> type of the values cached for each year
+ */
+class ConcurrentYearCache<T> implements YearCache<T> {
+
+	private final ConcurrentHashMap<Integer, Future<T>> entries = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	@Override
+	public T get(final int year, final IntFunction<T> loader) {
+		Future<T> future = entries.get(year);
+		if (future == null) {
+			final FutureTask<T> task = new FutureTask<>(() -> loader.apply(year));
+			future = entries.putIfAbsent(year, task);
+			if (future == null) {
+				misses.increment();
+				future = task;
+				task.run();
+			} else {
+				hits.increment();
+			}
+		} else {
+			hits.increment();
+		}
+
+		try {
+			return Futures.awaitUninterruptibly(future);
+		} catch (final ExecutionException e) {
+			// enable other threads to retry the computation
+			entries.remove(year, future);
+			throw Futures.unwrap(e);
+		}
+	}
+
+	@Override
+	public void put(final int year, final T value) {
+		entries.putIfAbsent(year, CompletableFuture.completedFuture(value));
+	}
+
+	@Override
+	public boolean contains(final int year) {
+		return entries.containsKey(year);
+	}
+
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(hits.sum(), misses.sum(), 0);
+	}
+}
@@ -0,0 +1,15 @@
+package org.itsallcode.holidays.calculator.logic.cache;
+
+/**
+ * Policy for selecting the year to evict from a bounded {@link YearCache} when
+ * the cache exceeds its maximum size.
+ */
+public enum EvictionPolicy {
+	/** Evict the least recently used year. */
+	LRU,
+	/**
+	 * Evict the least frequently used year. Among years with identical frequency
+	 * evict the least recently used one.
+	 */
+	LFU;
+}
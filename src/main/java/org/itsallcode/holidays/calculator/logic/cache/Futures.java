@@ -0,0 +1,58 @@
+package org.itsallcode.holidays.calculator.logic.cache;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Helper methods for waiting for the computation of a cached year.
+ */
+final class Futures {
+
+	private Futures() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Wait for the specified future to complete. The computation of a single year
+	 * is short, hence this method continues to wait when interrupted and restores
+	 * the interrupt flag afterwards.
+	 *
+	 * @param <T>    type of the computed value
+	 * @param future future to wait for
+	 * @return value computed by the future
+	 * @throws ExecutionException if the computation failed
+	 */
+	static <T> T awaitUninterruptibly(final Future<T> future) throws ExecutionException {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return future.get();
+				} catch (final InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Convert the cause of a failed computation into an unchecked exception.
+	 *
+	 * @param exception exception thrown by {@link Future#get()}
+	 * @return unchecked exception to be thrown by the caller
+	 */
+	static RuntimeException unwrap(final ExecutionException exception) {
+		final Throwable cause = exception.getCause();
+		if (cause instanceof RuntimeException) {
+			return (RuntimeException) cause;
+		}
+		if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+		return new IllegalStateException(cause);
+	}
+}
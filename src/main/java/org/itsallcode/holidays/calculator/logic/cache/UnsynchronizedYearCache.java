@@ -0,0 +1,51 @@
+package org.itsallcode.holidays.calculator.logic.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Simple year cache without any synchronization. Instances must not be accessed
+ * by multiple threads concurrently.
+ *
+ * @param <T> type of the values cached for each year
+ */
+class UnsynchronizedYearCache<T> implements YearCache<T> {
+
+	private final Map<Integer, T> entries = new HashMap<>();
+	private long hits = 0;
+	private long misses = 0;
+
+	@Override
+	public T get(final int year, final IntFunction<T> loader) {
+		T value = entries.get(year);
+		if (value == null) {
+			misses++;
+			value = loader.apply(year);
+			entries.put(year, value);
+		} else {
+			hits++;
+		}
+		return value;
+	}
+
+	@Override
+	public void put(final int year, final T value) {
+		entries.putIfAbsent(year, value);
+	}
+
+	@Override
+	public boolean contains(final int year) {
+		return entries.containsKey(year);
+	}
+
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(hits, misses, 0);
+	}
+}
@@ -0,0 +1,62 @@
+package org.itsallcode.holidays.calculator.logic.cache;
+
+import java.util.function.IntFunction;
+
+/**
+ * Cache for values computed once per year, e.g. the instances of all holidays
+ * of a {@link org.itsallcode.holidays.calculator.logic.HolidaySet} in a
+ * particular year.
+ *
+ * <p>
+ * Use {@link YearCacheBuilder} to create instances.
+ * </p>
+ *
+ * @param <T> type of the values cached for each year
+ */
+public interface YearCache<T> {
+
+	/**
+	 * Get the value for the specified year. If the cache does not contain a value
+	 * for this year yet, then compute the value using the specified loader and
+	 * store it in the cache.
+	 *
+	 * @param year   year to get the value for
+	 * @param loader function to compute the value for a year missing in the cache
+	 * @return value for the specified year
+	 */
+	T get(int year, IntFunction<T> loader);
+
+	/**
+	 * Store a value computed in advance for the specified year unless the cache
+	 * already contains a value for this year. Storing a value does not affect the
+	 * statistics of hits and misses.
+	 *
+	 * @param year  year of the value
+	 * @param value value for the specified year
+	 */
+	void put(int year, T value);
+
+	/**
+	 * Check if the cache contains a value for the specified year. Checking does
+	 * not affect the statistics of hits and misses nor the order of eviction.
+	 *
+	 * @param year year to check
+	 * @return {@code true} if the cache contains a value or a computation in
+	 *         progress for the specified year
+	 */
+	boolean contains(int year);
+
+	/**
+	 * Get the number of years currently contained in the cache.
+	 *
+	 * @return number of cached years
+	 */
+	int size();
+
+	/**
+	 * Get a snapshot of the statistics of this cache.
+	 *
+	 * @return statistics of this cache
+	 */
+	CacheStatistics getStatistics();
+}
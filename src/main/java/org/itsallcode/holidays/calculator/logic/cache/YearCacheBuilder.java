@@ -0,0 +1,114 @@
+package org.itsallcode.holidays.calculator.logic.cache;
+
+import java.time.Clock;
+
+/**
+ * Builder for instances of {@link YearCache}.
+ *
+ * <p>
+ * By default the builder creates an unbounded cache that must not be accessed
+ * by multiple threads concurrently. Specifying a maximum size creates a bounded
+ * cache that always supports concurrent access.
+ * </p>
+ */
+public class YearCacheBuilder {
+
+	private boolean concurrent = false;
+	private int maximumSize = 0;
+	private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+	private int pinnedWindow = -1;
+	private Clock clock = Clock.systemDefaultZone();
+
+	/**
+	 * Create a new instance.
+	 */
+	public YearCacheBuilder() {
+		// intentionally empty
+	}
+
+	/**
+	 * Build a new cache from the current builder.
+	 *
+	 * @param <T> type of the values cached for each year
+	 * @return new cache
+	 */
+	public <T> YearCache<T> build() {
+		if (maximumSize > 0) {
+			return new BoundedYearCache<>(maximumSize, evictionPolicy, pinnedWindow, clock);
+		}
+		if (concurrent) {
+			return new ConcurrentYearCache<>();
+		}
+		return new UnsynchronizedYearCache<>();
+	}
+
+	/**
+	 * Add a specification to the builder to support concurrent access by multiple
+	 * threads. Reading cached years will not acquire any lock and each year will be
+	 * computed only once even if multiple threads ask for it at the same time.
+	 *
+	 * @return self for fluent programming
+	 */
+	public YearCacheBuilder concurrent() {
+		this.concurrent = true;
+		return this;
+	}
+
+	/**
+	 * Add a specification to the builder to limit the number of cached years. When
+	 * the cache exceeds this size it evicts years according to the eviction policy,
+	 * see {@link #withEvictionPolicy(EvictionPolicy)}.
+	 *
+	 * @param maximumSize maximum number of cached years, pinned years excluded
+	 * @return self for fluent programming
+	 */
+	public YearCacheBuilder withMaximumSize(final int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("Argument maximumSize must be >= 1, but was " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+		return this;
+	}
+
+	/**
+	 * Add a specification to the builder regarding the policy for selecting the
+	 * year to evict from a bounded cache. Default is {@link EvictionPolicy#LRU}.
+	 *
+	 * @param evictionPolicy eviction policy
+	 * @return self for fluent programming
+	 */
+	public YearCacheBuilder withEvictionPolicy(final EvictionPolicy evictionPolicy) {
+		this.evictionPolicy = evictionPolicy;
+		return this;
+	}
+
+	/**
+	 * Add a specification to the builder to pin a window of years around the
+	 * current year. A bounded cache never evicts pinned years and does not count
+	 * them against its maximum size. The window moves with the current year.
+	 *
+	 * @param yearsAroundCurrentYear number of years before and after the current
+	 *                               year to pin
+	 * @return self for fluent programming
+	 */
+	public YearCacheBuilder withPinnedWindow(final int yearsAroundCurrentYear) {
+		if (yearsAroundCurrentYear < 0) {
+			throw new IllegalArgumentException(
+					"Argument yearsAroundCurrentYear must be >= 0, but was " + yearsAroundCurrentYear);
+		}
+		this.pinnedWindow = yearsAroundCurrentYear;
+		return this;
+	}
+
+	/**
+	 * Add a specification to the builder regarding the clock used to determine the
+	 * current year for the pinned window. Default is the system clock.
+	 *
+	 * @param clock clock to determine the current year
+	 * @return self for fluent programming
+	 */
+	public YearCacheBuilder withClock(final Clock clock) {
+		this.clock = clock;
+		return this;
+	}
+}
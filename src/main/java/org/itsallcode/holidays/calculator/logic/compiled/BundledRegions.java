@@ -0,0 +1,125 @@
+package org.itsallcode.holidays.calculator.logic.compiled;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.itsallcode.holidays.calculator.logic.HolidaySet;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+
+/**
+ * Provides the holidays of the regions bundled with the library.
+ *
+ * <p>
+ * The configuration files of the bundled regions are compiled at build time to
+ * {@link CompiledDefinitions} and packaged as resources. The holidays of a
+ * region are read from its resource on first request and the compiled bytes
+ * are cached afterwards. Each request decodes new {@link Holiday} instances,
+ * so callers can modify them without affecting each other. Nothing is parsed
+ * at runtime.
+ * </p>
+ *
+ * <p>
+ * All methods are thread-safe.
+ * </p>
+ */
+public final class BundledRegions {
+
+	/** Path of the resources containing the compiled regions. */
+	static final String RESOURCE_PATH = "org/itsallcode/holidays/calculator/regions/";
+	/** Name of the resource listing the names of all bundled regions. */
+	static final String INDEX = "regions.txt";
+	/** Extension of the resources containing the compiled regions. */
+	static final String EXTENSION = ".bin";
+
+	private static final Map<String, byte[]> CACHE = new ConcurrentHashMap<>();
+
+	private BundledRegions() {
+		// only static usage
+	}
+
+	/**
+	 * Get the names of all bundled regions.
+	 *
+	 * @return sorted set of region names
+	 */
+	public static SortedSet<String> names() {
+		return Index.NAMES;
+	}
+
+	/**
+	 * Get the holiday definitions of the specified bundled region.
+	 *
+	 * @param region name of the region, e.g. "Bavaria"
+	 * @return new unmodifiable list of new holidays of the region
+	 * @throws IllegalArgumentException if there is no bundled region with the
+	 *                                  specified name
+	 */
+	public static List<Holiday> holidays(final String region) {
+		if (!Index.NAMES.contains(region)) {
+			throw new IllegalArgumentException("Unknown region '" + region + "', available regions: " + Index.NAMES);
+		}
+		final byte[] compiled = CACHE.computeIfAbsent(region, BundledRegions::load);
+		try {
+			return CompiledDefinitions.read(new ByteArrayInputStream(compiled)).getHolidays();
+		} catch (final IOException e) {
+			throw new UncheckedIOException("Failed to read bundled region '" + region + "'", e);
+		}
+	}
+
+	/**
+	 * Create a new holiday set for the specified bundled region.
+	 *
+	 * @param region name of the region, e.g. "Bavaria"
+	 * @return new holiday set containing the holidays of the region
+	 * @throws IllegalArgumentException if there is no bundled region with the
+	 *                                  specified name
+	 */
+	public static HolidaySet holidaySet(final String region) {
+		return new HolidaySet(holidays(region));
+	}
+
+	private static byte[] load(final String region) {
+		try (InputStream stream = open(region + EXTENSION)) {
+			return stream.readAllBytes();
+		} catch (final IOException e) {
+			throw new UncheckedIOException("Failed to read bundled region '" + region + "'", e);
+		}
+	}
+
+	private static InputStream open(final String name) throws IOException {
+		final InputStream stream = BundledRegions.class.getClassLoader().getResourceAsStream(RESOURCE_PATH + name);
+		if (stream == null) {
+			throw new FileNotFoundException("Resource " + RESOURCE_PATH + name + " not found");
+		}
+		return stream;
+	}
+
+	/**
+	 * Holder for the names of the bundled regions, read on first access.
+	 */
+	private static class Index {
+		static final SortedSet<String> NAMES = readIndex();
+
+		private static SortedSet<String> readIndex() {
+			final InputStream stream = BundledRegions.class.getClassLoader()
+					.getResourceAsStream(RESOURCE_PATH + INDEX);
+			if (stream == null) {
+				return Collections.emptySortedSet();
+			}
+			final SortedSet<String> names = new TreeSet<>();
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (!line.isEmpty()) {
+						names.add(line);
+					}
+				}
+			} catch (final IOException e) {
+				throw new UncheckedIOException("Failed to read index of bundled regions", e);
+			}
+			return Collections.unmodifiableSortedSet(names);
+		}
+	}
+}
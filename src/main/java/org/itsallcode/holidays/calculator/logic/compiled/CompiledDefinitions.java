@@ -0,0 +1,339 @@
+package org.itsallcode.holidays.calculator.logic.compiled;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DayOfWeek;
+import java.time.MonthDay;
+import java.util.*;
+
+import org.itsallcode.holidays.calculator.logic.conditions.*;
+import org.itsallcode.holidays.calculator.logic.conditions.builder.ConditionBuilder;
+import org.itsallcode.holidays.calculator.logic.variants.*;
+import org.itsallcode.holidays.calculator.logic.variants.FloatingHoliday.Day;
+import org.itsallcode.holidays.calculator.logic.variants.FloatingHoliday.Direction;
+
+/**
+ * Compact binary representation of a list of holiday definitions.
+ *
+ * <p>
+ * The binary format starts with a header containing a magic number, the format
+ * version and the SHA-256 hash of the configuration file the definitions were
+ * compiled from. The header is followed by a table of all distinct strings,
+ * i.e. categories and names, and the holidays. Each holiday is written as a tag
+ * identifying its class followed by its fields. Strings are referenced by their
+ * index in the string table.
+ * </p>
+ *
+ * <p>
+ * Reading the binary format rebuilds the holidays with their public
+ * constructors and does not require parsing any holiday definitions.
+ * </p>
+ */
+public class CompiledDefinitions {
+
+	/** Current version of the binary format. */
+	public static final int FORMAT_VERSION = 1;
+
+	private static final int MAGIC = 0x48434446; // "HCDF"
+	private static final int HASH_LENGTH = 32;
+
+	private static final int FIXED = 1;
+	private static final int FLOATING = 2;
+	private static final int EASTER = 3;
+	private static final int ORTHODOX_EASTER = 4;
+	private static final int CONDITIONAL = 5;
+	private static final int ALTERNATIVE = 6;
+
+	private final byte[] sourceHash;
+	private final List<Holiday> holidays;
+
+	/**
+	 * Create a new instance of compiled definitions.
+	 *
+	 * @param sourceHash SHA-256 hash of the configuration file the holidays were
+	 *                   parsed from, see {@link #hash(byte[])}
+	 * @param holidays   list of holidays
+	 */
+	public CompiledDefinitions(final byte[] sourceHash, final List<Holiday> holidays) {
+		if (sourceHash.length != HASH_LENGTH) {
+			throw new IllegalArgumentException(
+					"Argument sourceHash must have " + HASH_LENGTH + " bytes, but had " + sourceHash.length);
+		}
+		this.sourceHash = sourceHash.clone();
+		this.holidays = List.copyOf(holidays);
+	}
+
+	/**
+	 * Calculate the SHA-256 hash of the content of a configuration file.
+	 *
+	 * @param content content of the configuration file
+	 * @return SHA-256 hash of the content
+	 */
+	public static byte[] hash(final byte[] content) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(content);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported by the current JVM", e);
+		}
+	}
+
+	/**
+	 * Get the SHA-256 hash of the configuration file the holidays were parsed
+	 * from.
+	 *
+	 * @return SHA-256 hash of the configuration file
+	 */
+	public byte[] getSourceHash() {
+		return sourceHash.clone();
+	}
+
+	/**
+	 * Get the holidays.
+	 *
+	 * @return unmodifiable list of holidays
+	 */
+	public List<Holiday> getHolidays() {
+		return holidays;
+	}
+
+	/**
+	 * Check whether the holidays were compiled from the specified content of a
+	 * configuration file.
+	 *
+	 * @param content content of the configuration file
+	 * @return {@code true} if the hash of the specified content matches the hash
+	 *         of the source of the compiled definitions
+	 */
+	public boolean isCompiledFrom(final byte[] content) {
+		return MessageDigest.isEqual(sourceHash, hash(content));
+	}
+
+	/**
+	 * Write the compiled definitions to the specified stream in binary format.
+	 *
+	 * <p>
+	 * Supported are the built-in subclasses of {@link Holiday} with conditions
+	 * created by {@link ConditionBuilder}. For holidays based on the Easter feast
+	 * only the offset passed to the constructor is written.
+	 * </p>
+	 *
+	 * @param stream stream to write to, not closed by this method
+	 * @throws IOException              in case of failures writing to the stream
+	 * @throws IllegalArgumentException if a holiday or condition is not supported
+	 *                                  by the binary format
+	 */
+	public void write(final OutputStream stream) throws IOException {
+		final StringTable strings = new StringTable();
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		final DataOutputStream bodyOut = new DataOutputStream(body);
+		bodyOut.writeInt(holidays.size());
+		for (final Holiday holiday : holidays) {
+			writeHoliday(bodyOut, strings, holiday);
+		}
+		bodyOut.flush();
+
+		final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+		out.writeInt(MAGIC);
+		out.writeShort(FORMAT_VERSION);
+		out.write(sourceHash);
+		out.writeInt(strings.list.size());
+		for (final String s : strings.list) {
+			out.writeUTF(s);
+		}
+		body.writeTo(out);
+		out.flush();
+	}
+
+	/**
+	 * Read compiled definitions in binary format from the specified stream.
+	 *
+	 * @param stream stream to read from, not closed by this method
+	 * @return compiled definitions
+	 * @throws IOException in case of failures reading from the stream or if the
+	 *                     stream does not contain compiled definitions in a
+	 *                     supported version of the binary format
+	 */
+	public static CompiledDefinitions read(final InputStream stream) throws IOException {
+		final DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Stream does not contain compiled holiday definitions");
+		}
+		final int version = in.readUnsignedShort();
+		if (version != FORMAT_VERSION) {
+			throw new IOException("Unsupported version " + version + " of compiled holiday definitions, expected "
+					+ FORMAT_VERSION);
+		}
+		final byte[] hash = new byte[HASH_LENGTH];
+		in.readFully(hash);
+
+		final String[] strings = new String[in.readInt()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = in.readUTF();
+		}
+
+		final int n = in.readInt();
+		final List<Holiday> result = new ArrayList<>(n);
+		try {
+			for (int i = 0; i < n; i++) {
+				result.add(readHoliday(in, strings));
+			}
+		} catch (final RuntimeException e) {
+			throw new IOException("Corrupt compiled holiday definitions", e);
+		}
+		return new CompiledDefinitions(hash, result);
+	}
+
+	private static void writeHoliday(final DataOutputStream out, final StringTable strings, final Holiday holiday)
+			throws IOException {
+		final Class<?> type = holiday.getClass();
+		if (type == FixedDateHoliday.class) {
+			writeHeader(out, strings, FIXED, holiday);
+			writeMonthDay(out, holiday.getMonthDay());
+			out.writeInt(holiday.getOffsetInDays());
+		} else if (type == FloatingHoliday.class) {
+			final FloatingHoliday floating = (FloatingHoliday) holiday;
+			writeHeader(out, strings, FLOATING, holiday);
+			out.writeInt(floating.getOffset());
+			out.writeByte(floating.getDayOfWeek().getValue());
+			out.writeByte(floating.getDirection().ordinal());
+			writeMonthDay(out, floating.getMonthDay());
+			out.writeByte(floating.getDayInterpretation().ordinal());
+			out.writeInt(holiday.getOffsetInDays());
+		} else if (type == EasterBasedHoliday.class) {
+			writeHeader(out, strings, EASTER, holiday);
+			out.writeInt(holiday.getOffsetInDays());
+		} else if (type == OrthodoxEasterBasedHoliday.class) {
+			writeHeader(out, strings, ORTHODOX_EASTER, holiday);
+			out.writeInt(holiday.getOffsetInDays());
+		} else if (type == ConditionalHoliday.class) {
+			final ConditionalHoliday conditional = (ConditionalHoliday) holiday;
+			writeHeader(out, strings, CONDITIONAL, holiday);
+			writeCondition(out, conditional.getCondition());
+			writeHoliday(out, strings, conditional.getHoliday());
+			out.writeInt(holiday.getOffsetInDays());
+		} else if (type == HolidayWithAlternative.class) {
+			final HolidayWithAlternative alternative = (HolidayWithAlternative) holiday;
+			writeHeader(out, strings, ALTERNATIVE, holiday);
+			writeCondition(out, alternative.getCondition());
+			writeHoliday(out, strings, alternative.getDefaultHoliday());
+			writeMonthDay(out, alternative.getAlternateDate());
+			out.writeInt(holiday.getOffsetInDays());
+		} else {
+			throw new IllegalArgumentException("Unsupported holiday " + holiday);
+		}
+	}
+
+	private static void writeHeader(final DataOutputStream out, final StringTable strings, final int tag,
+			final Holiday holiday) throws IOException {
+		out.writeByte(tag);
+		out.writeInt(strings.indexOf(holiday.getCategory()));
+		out.writeInt(strings.indexOf(holiday.getName()));
+	}
+
+	private static void writeMonthDay(final DataOutputStream out, final MonthDay monthDay) throws IOException {
+		out.writeByte(monthDay.getMonthValue());
+		out.writeByte(monthDay.getDayOfMonth());
+	}
+
+	/**
+	 * Conditions are written as negated flag, pivot date and a bit mask of the
+	 * days of the week, with bit 0 representing Monday.
+	 */
+	private static void writeCondition(final DataOutputStream out, final Condition condition) throws IOException {
+		boolean negated = false;
+		Condition c = condition;
+		while (c instanceof NegatedCondition) {
+			negated = !negated;
+			c = ((NegatedCondition) c).getCondition();
+		}
+		if (!(c instanceof DayOfWeekCondition) || ((DayOfWeekCondition) c).getPivot() == null) {
+			throw new IllegalArgumentException("Unsupported condition " + condition);
+		}
+		final DayOfWeekCondition dayOfWeekCondition = (DayOfWeekCondition) c;
+		int mask = 0;
+		for (final DayOfWeek day : dayOfWeekCondition.getDaysOfWeek()) {
+			mask |= 1 << (day.getValue() - 1);
+		}
+		out.writeBoolean(negated);
+		writeMonthDay(out, dayOfWeekCondition.getPivot());
+		out.writeByte(mask);
+	}
+
+	private static Holiday readHoliday(final DataInputStream in, final String[] strings) throws IOException {
+		final int tag = in.readUnsignedByte();
+		final String category = strings[in.readInt()];
+		final String name = strings[in.readInt()];
+		switch (tag) {
+		case FIXED:
+			return withOffset(new FixedDateHoliday(category, name, readMonthDay(in)), in);
+		case FLOATING:
+			return withOffset(readFloatingHoliday(in, category, name), in);
+		case EASTER:
+			return new EasterBasedHoliday(category, name, in.readInt());
+		case ORTHODOX_EASTER:
+			return new OrthodoxEasterBasedHoliday(category, name, in.readInt());
+		case CONDITIONAL: {
+			final ConditionBuilder condition = readCondition(in);
+			return withOffset(new ConditionalHoliday(condition, readHoliday(in, strings)), in);
+		}
+		case ALTERNATIVE: {
+			final ConditionBuilder condition = readCondition(in);
+			final Holiday defaultHoliday = readHoliday(in, strings);
+			return withOffset(new HolidayWithAlternative(defaultHoliday, condition, readMonthDay(in)), in);
+		}
+		default:
+			throw new IOException("Unknown holiday tag " + tag + " in compiled holiday definitions");
+		}
+	}
+
+	private static Holiday readFloatingHoliday(final DataInputStream in, final String category, final String name)
+			throws IOException {
+		final int offset = in.readInt();
+		final DayOfWeek dayOfWeek = DayOfWeek.of(in.readUnsignedByte());
+		final Direction direction = Direction.values()[in.readUnsignedByte()];
+		final MonthDay monthDay = readMonthDay(in);
+		final Day dayInterpretation = Day.values()[in.readUnsignedByte()];
+		if (dayInterpretation == Day.AS_SPECIFIED) {
+			return new FloatingHoliday(category, name, offset, dayOfWeek, direction, monthDay);
+		}
+		return new FloatingHoliday(category, name, offset, dayOfWeek, direction, monthDay.getMonthValue(),
+				dayInterpretation);
+	}
+
+	private static Holiday withOffset(final Holiday holiday, final DataInputStream in) throws IOException {
+		final int offsetInDays = in.readInt();
+		return offsetInDays == 0 ? holiday : holiday.withOffsetInDays(offsetInDays);
+	}
+
+	private static MonthDay readMonthDay(final DataInputStream in) throws IOException {
+		final int month = in.readUnsignedByte();
+		return MonthDay.of(month, in.readUnsignedByte());
+	}
+
+	private static ConditionBuilder readCondition(final DataInputStream in) throws IOException {
+		final boolean negated = in.readBoolean();
+		final MonthDay pivot = readMonthDay(in);
+		final int mask = in.readUnsignedByte();
+		final List<DayOfWeek> days = new ArrayList<>();
+		for (final DayOfWeek day : DayOfWeek.values()) {
+			if ((mask & (1 << (day.getValue() - 1))) != 0) {
+				days.add(day);
+			}
+		}
+		final ConditionBuilder builder = new ConditionBuilder().withDaysOfWeek(days).withPivotDate(pivot);
+		return negated ? builder.negated() : builder;
+	}
+
+	private static class StringTable {
+		private final Map<String, Integer> indices = new HashMap<>();
+		private final List<String> list = new ArrayList<>();
+
+		int indexOf(final String s) {
+			return indices.computeIfAbsent(s, key -> {
+				list.add(key);
+				return list.size() - 1;
+			});
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package org.itsallcode.holidays.calculator.logic.compiled;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.itsallcode.holidays.calculator.logic.HolidaySet;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+
+/**
+ * Compiles configuration files to {@link CompiledDefinitions} and loads
+ * {@link HolidaySet}s from compiled definitions without parsing the holiday
+ * definitions again.
+ */
+public class CompiledHolidaysLoader {
+
+	/**
+	 * Create a new instance.
+	 */
+	public CompiledHolidaysLoader() {
+		// intentionally empty
+	}
+
+	/**
+	 * Parse the specified configuration file and write the holidays in binary
+	 * format to the specified target file. Lines that cannot be parsed are
+	 * skipped.
+	 *
+	 * @param configurationFile configuration file to parse
+	 * @param target            file to write the compiled definitions to
+	 * @return list of errors that occurred during parsing the configuration file
+	 * @throws IOException in case of failures reading or writing the files
+	 */
+	public List<HolidaysFileParser.Error> compile(final Path configurationFile, final Path target)
+			throws IOException {
+		final byte[] content = Files.readAllBytes(configurationFile);
+		final HolidaysFileParser parser = new HolidaysFileParser(configurationFile.toString());
+		final List<Holiday> holidays = parser.parse(new ByteArrayInputStream(content));
+		try (OutputStream stream = Files.newOutputStream(target)) {
+			new CompiledDefinitions(CompiledDefinitions.hash(content), holidays).write(stream);
+		}
+		return parser.getErrors();
+	}
+
+	/**
+	 * Load holidays from the specified compiled definitions and verify that they
+	 * were compiled from the current content of the specified configuration file.
+	 *
+	 * @param configurationFile configuration file the definitions were compiled
+	 *                          from
+	 * @param compiled          file containing the compiled definitions
+	 * @return holiday set containing the holidays of the compiled definitions
+	 * @throws StaleDefinitionsException if the compiled definitions were compiled
+	 *                                   from a different content of the
+	 *                                   configuration file
+	 * @throws IOException               in case of failures reading the files
+	 */
+	public HolidaySet load(final Path configurationFile, final Path compiled) throws IOException {
+		final CompiledDefinitions definitions = read(compiled);
+		if (!definitions.isCompiledFrom(Files.readAllBytes(configurationFile))) {
+			throw new StaleDefinitionsException(
+					"Compiled definitions " + compiled + " are outdated, please recompile " + configurationFile);
+		}
+		return new HolidaySet(definitions.getHolidays());
+	}
+
+	/**
+	 * Load holidays from the specified compiled definitions without verifying
+	 * them against a configuration file.
+	 *
+	 * @param stream stream containing the compiled definitions
+	 * @return holiday set containing the holidays of the compiled definitions
+	 * @throws IOException in case of failures reading the stream
+	 */
+	public HolidaySet load(final InputStream stream) throws IOException {
+		return new HolidaySet(CompiledDefinitions.read(stream).getHolidays());
+	}
+
+	private CompiledDefinitions read(final Path compiled) throws IOException {
+		try (InputStream stream = Files.newInputStream(compiled)) {
+			return CompiledDefinitions.read(stream);
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package org.itsallcode.holidays.calculator.logic.compiled;
+
+import java.io.IOException;
+
+/**
+ * Indicates that compiled holiday definitions were not compiled from the
+ * current content of the configuration file.
+ */
+public class StaleDefinitionsException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Create a new instance of the exception.
+	 *
+	 * @param message message describing the stale definitions
+	 */
+	public StaleDefinitionsException(final String message) {
+		super(message);
+	}
+}
@@ -31,6 +31,18 @@ public abstract class Condition {
 	 */
 	public abstract boolean applies(Year year);
 
+	/**
+	 * Check if the current condition applies in the specified year. Subclasses
+	 * should override this method in order to avoid allocating an instance of
+	 * {@link Year}.
+	 *
+	 * @param year year to evaluate the current condition for.
+	 * @return {@code true} if the condition applies, {@code false} otherwise.
+	 */
+	public boolean applies(final int year) {
+		return applies(Year.of(year));
+	}
+
 	/**
 	 * Return a string representation of the current condition using the specified
 	 * prefix and a flag indicating whether the condition should be negated.
@@ -52,7 +64,7 @@ public abstract class Condition {
 	 * Add a pivot date to the current Condition
 	 *
 	 * @param pivot pivot date
-	 * @return self for fluent programming
+	 * @return condition with the pivot date, which may be a new instance
 	 */
 	public Condition withPivotDate(final MonthDay pivot) {
 		return this;
@@ -25,6 +25,11 @@ public class ConstantCondition extends Condition {
 		return value;
 	}
 
+	@Override
+	public boolean applies(final int year) {
+		return value;
+	}
+
 	/**
 	 * Get the value of the constant condition.
 	 *
@@ -5,6 +5,7 @@ import static java.util.stream.Collectors.joining;
 import java.time.*;
 import java.util.*;
 
+import org.itsallcode.holidays.calculator.logic.EpochDays;
 import org.itsallcode.holidays.calculator.logic.Formatter;
 
 /**
@@ -15,11 +16,27 @@ import org.itsallcode.holidays.calculator.logic.Formatter;
  * <pre>
  * if DEC 26 is SAT,SUN
  * </pre>
+ *
+ * Instances are immutable, {@link #withPivotDate(MonthDay)} returns a new
+ * condition.
  */
 public class DayOfWeekCondition extends Condition {
 
-	private MonthDay pivot;
-	private final Set<DayOfWeek> daysOfWeek = new HashSet<>();
+	/**
+	 * Number of years after which the Gregorian calendar repeats the days of the
+	 * week.
+	 */
+	private static final int CYCLE_YEARS = 400;
+
+	private final MonthDay pivot;
+	/** Days of the week, bit {@code n - 1} representing {@link DayOfWeek#of(int) n} */
+	private final int daysOfWeekMask;
+	/**
+	 * Result of the condition for each year of a 400-year cycle, bit
+	 * {@code floorMod(year, 400)} representing the year. Derived from pivot and
+	 * days of the week, hence transient and not part of {@link #equals(Object)}.
+	 */
+	private final transient long[] table;
 
 	/**
 	 * Create a new condition that is {@code true} on the specified days of the
@@ -40,28 +57,94 @@ public class DayOfWeekCondition extends Condition {
 	 * @param daysOfWeek days of the week
 	 */
 	public DayOfWeekCondition(final MonthDay pivot, final DayOfWeek... daysOfWeek) {
+		this(pivot, mask(daysOfWeek));
+	}
+
+	private DayOfWeekCondition(final MonthDay pivot, final int daysOfWeekMask) {
+		this.daysOfWeekMask = daysOfWeekMask;
 		this.pivot = pivot;
-		this.daysOfWeek.addAll(Arrays.asList(daysOfWeek));
+		this.table = pivot == null ? null : compile(pivot, daysOfWeekMask);
+	}
+
+	private static int mask(final DayOfWeek... daysOfWeek) {
+		int mask = 0;
+		for (final DayOfWeek day : daysOfWeek) {
+			mask |= bit(day.getValue());
+		}
+		return mask;
+	}
+
+	private static int bit(final int dayOfWeek) {
+		return 1 << (dayOfWeek - 1);
+	}
+
+	private static long[] compile(final MonthDay pivot, final int mask) {
+		final long[] result = new long[(CYCLE_YEARS + 63) / 64];
+		for (int year = 0; year < CYCLE_YEARS; year++) {
+			if ((mask & bit(EpochDays.dayOfWeek(EpochDays.of(year, pivot)))) != 0) {
+				result[year >>> 6] |= 1L << year;
+			}
+		}
+		return result;
 	}
 
 	@Override
 	public boolean applies(final Year year) {
-		return daysOfWeek.contains(year.atMonthDay(pivot).getDayOfWeek());
+		return applies(year.getValue());
 	}
 
+	@Override
+	public boolean applies(final int year) {
+		if (table == null) {
+			throw new IllegalStateException("Cannot evaluate DayOfWeekCondition with unspecified pivot date.");
+		}
+		final int index = Math.floorMod(year, CYCLE_YEARS);
+		return (table[index >>> 6] & (1L << index)) != 0;
+	}
+
+	/**
+	 * Create a condition with the specified pivot date unless this condition
+	 * already has a pivot date.
+	 *
+	 * @param pivot pivot date
+	 * @return new condition with the specified pivot date or this condition if
+	 *         the pivot date has already been specified
+	 */
 	@Override
 	public Condition withPivotDate(final MonthDay pivot) {
-		if (this.pivot == null) {
-			this.pivot = pivot;
+		if (this.pivot != null) {
+			return this;
+		}
+		return new DayOfWeekCondition(pivot, daysOfWeekMask);
+	}
+
+	/**
+	 * Get the pivot date of this condition.
+	 *
+	 * @return pivot date or {@code null} if not specified yet
+	 */
+	public MonthDay getPivot() {
+		return pivot;
+	}
+
+	/**
+	 * Get the days of the week on which this condition is {@code true}.
+	 *
+	 * @return unmodifiable set of days of the week
+	 */
+	public Set<DayOfWeek> getDaysOfWeek() {
+		final Set<DayOfWeek> result = EnumSet.noneOf(DayOfWeek.class);
+		for (final DayOfWeek day : DayOfWeek.values()) {
+			if ((daysOfWeekMask & bit(day.getValue())) != 0) {
+				result.add(day);
+			}
 		}
-		return this;
+		return Collections.unmodifiableSet(result);
 	}
 
 	@Override
 	public String toString(final String prefix, final boolean negated) {
-		final String days = Arrays.asList(daysOfWeek.toArray(new DayOfWeek[0]))
-				.stream()
-				.sorted(DayOfWeek::compareTo)
+		final String days = getDaysOfWeek().stream()
 				.map(Formatter::format)
 				.collect(joining(","));
 		return String.format("%sif %s is%s %s",
@@ -73,7 +156,7 @@ public class DayOfWeekCondition extends Condition {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(daysOfWeek, pivot);
+		return Objects.hash(daysOfWeekMask, pivot);
 	}
 
 	@Override
@@ -88,6 +171,6 @@ public class DayOfWeekCondition extends Condition {
 			return false;
 		}
 		final DayOfWeekCondition other = (DayOfWeekCondition) obj;
-		return Objects.equals(daysOfWeek, other.daysOfWeek) && Objects.equals(pivot, other.pivot);
+		return daysOfWeekMask == other.daysOfWeekMask && Objects.equals(pivot, other.pivot);
 	}
 }
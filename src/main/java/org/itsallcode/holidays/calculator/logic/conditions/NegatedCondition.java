@@ -30,6 +30,20 @@ public class NegatedCondition extends Condition {
 		return !other.applies(year);
 	}
 
+	@Override
+	public boolean applies(int year) {
+		return !other.applies(year);
+	}
+
+	/**
+	 * Get the condition negated by this condition.
+	 *
+	 * @return negated condition
+	 */
+	public Condition getCondition() {
+		return other;
+	}
+
 	@Override
 	public String toString(String prefix) {
 		return other.toString(prefix, true);
@@ -0,0 +1,32 @@
+package org.itsallcode.holidays.calculator.logic.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for parsing a configuration file. The duration of the
+ * event is the time spent for parsing the file.
+ */
+@Name("org.itsallcode.holidays.FileParse")
+@Label("Holiday File Parse")
+@Description("Parsing a file containing holiday definitions")
+@Category("Holiday Calculator")
+@Enabled(false)
+@StackTrace(false)
+public final class FileParseEvent extends Event {
+
+	/** Identifier of the file, e.g. the region or the path of the file. */
+	@Label("Identifier")
+	public String identifier;
+
+	/** Number of lines in the file. */
+	@Label("Lines")
+	public int lines;
+
+	/** Number of holiday definitions parsed successfully. */
+	@Label("Definitions")
+	public int definitions;
+
+	/** Number of lines that could not be parsed. */
+	@Label("Errors")
+	public int errors;
+}
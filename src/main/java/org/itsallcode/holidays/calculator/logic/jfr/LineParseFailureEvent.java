@@ -0,0 +1,28 @@
+package org.itsallcode.holidays.calculator.logic.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for a line of a configuration file that could not be
+ * parsed.
+ */
+@Name("org.itsallcode.holidays.LineParseFailure")
+@Label("Holiday Line Parse Failure")
+@Description("Line of a file containing holiday definitions that could not be parsed")
+@Category("Holiday Calculator")
+@Enabled(false)
+@StackTrace(false)
+public final class LineParseFailureEvent extends Event {
+
+	/** Identifier of the file, e.g. the region or the path of the file. */
+	@Label("Identifier")
+	public String identifier;
+
+	/** Number of the line. */
+	@Label("Line Number")
+	public int lineNumber;
+
+	/** Content of the line. */
+	@Label("Content")
+	public String content;
+}
@@ -0,0 +1,27 @@
+package org.itsallcode.holidays.calculator.logic.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for evicting a year from a bounded year cache.
+ */
+@Name("org.itsallcode.holidays.YearCacheEviction")
+@Label("Holiday Year Cache Eviction")
+@Description("Eviction of a year from a bounded cache of holiday instances")
+@Category("Holiday Calculator")
+@Enabled(false)
+@StackTrace(false)
+public final class YearCacheEvictionEvent extends Event {
+
+	/** Year evicted. */
+	@Label("Year")
+	public int year;
+
+	/** Year whose insertion caused the eviction. */
+	@Label("Inserted Year")
+	public int insertedYear;
+
+	/** Eviction policy of the cache. */
+	@Label("Eviction Policy")
+	public String evictionPolicy;
+}
@@ -0,0 +1,29 @@
+package org.itsallcode.holidays.calculator.logic.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for computing the holiday instances of a year to be
+ * stored in the cache of a holiday set. The duration of the event is the time
+ * spent for computing the year.
+ */
+@Name("org.itsallcode.holidays.YearCacheFill")
+@Label("Holiday Year Cache Fill")
+@Description("Computing the holiday instances of a year")
+@Category("Holiday Calculator")
+@Enabled(false)
+@StackTrace(false)
+public final class YearCacheFillEvent extends Event {
+
+	/** Year computed. */
+	@Label("Year")
+	public int year;
+
+	/** Number of holiday definitions evaluated. */
+	@Label("Definitions")
+	public int definitions;
+
+	/** Number of holiday instances in the year. */
+	@Label("Instances")
+	public int instances;
+}
@@ -0,0 +1,87 @@
+package org.itsallcode.holidays.calculator.logic.metrics;
+
+import org.itsallcode.holidays.calculator.logic.HolidaySet;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+
+/**
+ * Listener for metrics of parsing configuration files and computing holidays,
+ * e.g. in order to forward them to a monitoring system.
+ *
+ * <p>
+ * All methods have an empty default implementation, so implementations only
+ * need to override the methods for the metrics they are interested in.
+ * Implementations must be thread-safe if the same instance is passed to
+ * multiple parsers or to a {@link HolidaySet} shared between multiple threads.
+ * Methods are called synchronously and should return quickly.
+ * </p>
+ *
+ * <p>
+ * As long as {@link #NOOP} is used, {@link HolidaySet} and
+ * {@link HolidaysFileParser} do not measure anything.
+ * </p>
+ */
+public interface HolidayMetrics {
+
+	/** Metrics listener ignoring all metrics, used by default. */
+	HolidayMetrics NOOP = new HolidayMetrics() {
+	};
+
+	/**
+	 * Called after parsing a configuration file.
+	 *
+	 * @param identifier identifier of the file, see
+	 *                   {@link HolidaysFileParser#HolidaysFileParser(String)}
+	 * @param lines      number of lines in the file
+	 * @param errors     number of lines that could not be parsed
+	 * @param nanos      time spent for parsing in nanoseconds
+	 */
+	default void fileParsed(final String identifier, final int lines, final int errors, final long nanos) {
+		// ignore
+	}
+
+	/**
+	 * Called if the holiday instances of a year have been found in the cache of a
+	 * {@link HolidaySet}.
+	 *
+	 * @param year year
+	 */
+	default void cacheHit(final int year) {
+		// ignore
+	}
+
+	/**
+	 * Called if the holiday instances of a year have not been found in the cache
+	 * of a {@link HolidaySet} and have been computed.
+	 *
+	 * @param year year
+	 */
+	default void cacheMiss(final int year) {
+		// ignore
+	}
+
+	/**
+	 * Called after computing the holiday instances of a year.
+	 *
+	 * @param year        year
+	 * @param definitions number of holiday definitions evaluated
+	 * @param nanos       time spent for computing the year in nanoseconds
+	 */
+	default void yearComputed(final int year, final int definitions, final long nanos) {
+		// ignore
+	}
+
+	/**
+	 * Called after computing the holiday instances of a year once for each
+	 * subclass of {@link Holiday} contained in the definitions.
+	 *
+	 * @param year    year
+	 * @param variant subclass of {@link Holiday}
+	 * @param count   number of definitions of this subclass
+	 * @param nanos   time spent for evaluating these definitions in nanoseconds
+	 */
+	default void variantEvaluated(final int year, final Class<? extends Holiday> variant, final int count,
+			final long nanos) {
+		// ignore
+	}
+}
@@ -1,10 +1,14 @@
 package org.itsallcode.holidays.calculator.logic.parser;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class enables to parse enum values from potentially abbreviated strings.
  *
+ * <p>
+ * Instances are thread-safe and can be shared between multiple threads.
+ * </p>
+ *
  * @param <T> Enum class containing the values to be parsed from the string.
  */
 public class AbbreviationParser<T extends Enum<T>> {
@@ -45,7 +49,7 @@ public class AbbreviationParser<T extends Enum<T>> {
 	}
 
 	private final Class<T> clazz;
-	private final HashMap<String, T> cache = new HashMap<>();
+	private final ConcurrentHashMap<String, T> cache = new ConcurrentHashMap<>();
 
 	/**
 	 * Create a new instance for the specified enum class.
@@ -63,15 +67,19 @@ public class AbbreviationParser<T extends Enum<T>> {
 	 * @return enum value for the specified prefix
 	 */
 	public T getEnumFor(final String prefix) {
-		if (cache.containsKey(prefix)) {
-			return cache.get(prefix);
+		if (prefix == null) {
+			return lookup(null, "");
 		}
-
-		String upper = "";
-		if (prefix != null) {
-			upper = prefix.toUpperCase();
+		final T cached = cache.get(prefix);
+		if (cached != null) {
+			return cached;
 		}
+		final T result = lookup(prefix, prefix.toUpperCase());
+		cache.put(prefix, result);
+		return result;
+	}
 
+	private T lookup(final String prefix, final String upper) {
 		T result = null;
 		for (final T value : clazz.getEnumConstants()) {
 			if (value.toString().toUpperCase().startsWith(upper)) {
@@ -87,7 +95,6 @@ public class AbbreviationParser<T extends Enum<T>> {
 					+ " for abbreviation \"" + prefix + "\"");
 		}
 
-		cache.put(prefix, result);
 		return result;
 	}
 }
@@ -1,20 +1,55 @@
 package org.itsallcode.holidays.calculator.logic.parser;
 
 import org.itsallcode.holidays.calculator.logic.parser.matcher.HolidayMatcher;
+import org.itsallcode.holidays.calculator.logic.parser.matcher.KeywordDispatcher;
 import org.itsallcode.holidays.calculator.logic.variants.Holiday;
 
 /**
  * Class for parsing a single holiday from a string specification.
+ *
+ * <p>
+ * Instances are thread-safe and can be shared between multiple threads, e.g.
+ * by multiple instances of {@link HolidaysFileParser}.
+ * </p>
  */
 public class HolidayParser {
 
-	private final HolidayMatcher[] matchers = HolidayMatcher.matchers();
+	/**
+	 * Strategy for parsing a holiday specification.
+	 */
+	public enum Strategy {
+		/**
+		 * Split the specification into words once and select the matchers by the
+		 * keyword for the type of holiday. The effort is linear in the length of the
+		 * specification.
+		 */
+		TOKENIZER,
+		/**
+		 * Try the regular expressions of all matchers in turn.
+		 */
+		REGULAR_EXPRESSIONS;
+	}
+
+	private final Strategy strategy;
+	private final HolidayMatcher[] matchers;
+	private final KeywordDispatcher dispatcher;
 
 	/**
-	 * Create a new instance
+	 * Create a new instance using strategy {@link Strategy#TOKENIZER}.
 	 */
 	public HolidayParser() {
-		// intentionally empty
+		this(Strategy.TOKENIZER);
+	}
+
+	/**
+	 * Create a new instance using the specified strategy.
+	 *
+	 * @param strategy strategy for parsing holiday specifications
+	 */
+	public HolidayParser(final Strategy strategy) {
+		this.strategy = strategy;
+		this.matchers = strategy == Strategy.REGULAR_EXPRESSIONS ? HolidayMatcher.matchers() : null;
+		this.dispatcher = strategy == Strategy.TOKENIZER ? new KeywordDispatcher() : null;
 	}
 
 	/**
@@ -26,6 +61,10 @@ public class HolidayParser {
 	 */
 	public Holiday parse(String line) {
 		final String trimmed = line.trim();
+		if (strategy == Strategy.TOKENIZER) {
+			return dispatcher.parse(trimmed);
+		}
+
 		for (final HolidayMatcher m : matchers) {
 			final Holiday holiday = m.createHoliday(trimmed);
 			if (holiday != null) {
@@ -1,10 +1,19 @@
 package org.itsallcode.holidays.calculator.logic.parser;
 
 import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.itsallcode.holidays.calculator.logic.jfr.FileParseEvent;
+import org.itsallcode.holidays.calculator.logic.jfr.LineParseFailureEvent;
+import org.itsallcode.holidays.calculator.logic.metrics.HolidayMetrics;
 import org.itsallcode.holidays.calculator.logic.variants.Holiday;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,11 +39,12 @@ public class HolidaysFileParser {
 	}
 
 	private static final Logger LOG = LoggerFactory.getLogger(HolidaysFileParser.class);
-	private static final String COMMENT_CHAR = "#";
+	private static final char COMMENT_CHAR = '#';
 
-	private final HolidayParser holidayParser = new HolidayParser();
+	private final HolidayParser holidayParser;
 	private final List<Error> errors = new ArrayList<>();
 	private final String identifier;
+	private HolidayMetrics metrics = HolidayMetrics.NOOP;
 
 	/**
 	 * Construct a new instance of a holiday file parser.
@@ -44,7 +54,33 @@ public class HolidaysFileParser {
 	 *                              of the file represented by the stream.
 	 */
 	public HolidaysFileParser(String inputSourceIdentifier) {
+		this(inputSourceIdentifier, new HolidayParser());
+	}
+
+	/**
+	 * Construct a new instance of a holiday file parser using a shared parser for
+	 * the individual holidays.
+	 *
+	 * @param inputSourceIdentifier Just a string in order to identify the stream in
+	 *                              potential error messages. Could be name or path
+	 *                              of the file represented by the stream.
+	 * @param holidayParser         parser for the individual holidays
+	 */
+	public HolidaysFileParser(final String inputSourceIdentifier, final HolidayParser holidayParser) {
 		this.identifier = inputSourceIdentifier;
+		this.holidayParser = holidayParser;
+	}
+
+	/**
+	 * Report the number of lines and the time spent for parsing each file to the
+	 * specified metrics listener.
+	 *
+	 * @param metrics listener for metrics
+	 * @return self for fluent programming
+	 */
+	public HolidaysFileParser withMetrics(final HolidayMetrics metrics) {
+		this.metrics = metrics;
+		return this;
 	}
 
 	/**
@@ -55,6 +91,10 @@ public class HolidaysFileParser {
 	 * @throws IOException in case of unexpected failures
 	 */
 	public List<Holiday> parse(InputStream stream) throws IOException {
+		final FileParseEvent event = new FileParseEvent();
+		event.begin();
+		final long startNanos = System.nanoTime();
+		final int errorsBefore = errors.size();
 		final BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
 		final List<Holiday> result = new ArrayList<>();
 
@@ -63,23 +103,121 @@ public class HolidaysFileParser {
 		while ((line = reader.readLine()) != null) {
 			n++;
 			line = cutOffComment(line);
-			if (line.isEmpty()) {
-				continue;
+			if (!line.isEmpty()) {
+				parseLine(n, line, result);
 			}
+		}
+		reportFileParsed(event, n, result.size(), errorsBefore, startNanos);
+		return result;
+	}
 
-			final Holiday holiday = holidayParser.parse(line);
-			if (holiday != null) {
-				result.add(holiday);
-			} else {
-				LOG.error("File {}:{}: Couldn't parse '{}'.", identifier, n, line);
-				errors.add(new Error(n, line));
+	/**
+	 * Parse holidays from the specified file. The file is mapped into memory and
+	 * scanned for line boundaries and comments without decoding. Only the parts of
+	 * lines containing holiday specifications are decoded to strings. Line
+	 * boundaries are the same as for {@link BufferedReader#readLine()}.
+	 *
+	 * @param file UTF-8 encoded file to parse the holidays from.
+	 * @return list of holidays
+	 * @throws IOException in case of unexpected failures
+	 */
+	public List<Holiday> parse(final Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				try (InputStream stream = Files.newInputStream(file)) {
+					return parse(stream);
+				}
 			}
+			return parse(channel.map(MapMode.READ_ONLY, 0, channel.size()));
 		}
+	}
+
+	private List<Holiday> parse(final MappedByteBuffer buffer) {
+		final FileParseEvent event = new FileParseEvent();
+		event.begin();
+		final long startNanos = System.nanoTime();
+		final int errorsBefore = errors.size();
+		final List<Holiday> result = new ArrayList<>();
+		final int limit = buffer.limit();
+		int n = 0;
+		int start = 0;
+		while (start < limit) {
+			n++;
+			int end = start;
+			int contentEnd = -1;
+			byte b = 0;
+			while (end < limit && (b = buffer.get(end)) != '\n' && b != '\r') {
+				if (b == COMMENT_CHAR && contentEnd < 0) {
+					contentEnd = end;
+				}
+				end++;
+			}
+			parseLine(n, buffer, start, contentEnd < 0 ? end : contentEnd, result);
+
+			start = end + 1;
+			if (b == '\r' && start < limit && buffer.get(start) == '\n') {
+				start++;
+			}
+		}
+		reportFileParsed(event, n, result.size(), errorsBefore, startNanos);
 		return result;
 	}
 
+	private void reportFileParsed(final FileParseEvent event, final int lines, final int definitions,
+			final int errorsBefore, final long startNanos) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.identifier = identifier;
+			event.lines = lines;
+			event.definitions = definitions;
+			event.errors = errors.size() - errorsBefore;
+			event.commit();
+		}
+		if (metrics != HolidayMetrics.NOOP) {
+			metrics.fileParsed(identifier, lines, errors.size() - errorsBefore, System.nanoTime() - startNanos);
+		}
+	}
+
+	private void parseLine(final int n, final MappedByteBuffer buffer, final int start, final int end,
+			final List<Holiday> result) {
+		// bytes of multi-byte UTF-8 sequences are never <= ' ', so trimming bytes is
+		// equivalent to String.trim()
+		int from = start;
+		int to = end;
+		while (from < to && (buffer.get(from) & 0xff) <= ' ') {
+			from++;
+		}
+		while (to > from && (buffer.get(to - 1) & 0xff) <= ' ') {
+			to--;
+		}
+		if (from == to) {
+			return;
+		}
+		final byte[] bytes = new byte[to - from];
+		buffer.get(from, bytes);
+		parseLine(n, new String(bytes, StandardCharsets.UTF_8), result);
+	}
+
+	private void parseLine(final int n, final String line, final List<Holiday> result) {
+		final Holiday holiday = holidayParser.parse(line);
+		if (holiday != null) {
+			result.add(holiday);
+		} else {
+			LOG.error("File {}:{}: Couldn't parse '{}'.", identifier, n, line);
+			errors.add(new Error(n, line));
+			final LineParseFailureEvent event = new LineParseFailureEvent();
+			if (event.shouldCommit()) {
+				event.identifier = identifier;
+				event.lineNumber = n;
+				event.content = line;
+				event.commit();
+			}
+		}
+	}
+
 	private String cutOffComment(String string) {
-		return string.replaceFirst(COMMENT_CHAR + ".*$", "").trim();
+		final int index = string.indexOf(COMMENT_CHAR);
+		return (index < 0 ? string : string.substring(0, index)).trim();
 	}
 
 	/**
@@ -0,0 +1,222 @@
+package org.itsallcode.holidays.calculator.logic.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import org.itsallcode.holidays.calculator.logic.metrics.HolidayMetrics;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+
+/**
+ * Loads multiple files containing holiday definitions in parallel, e.g. all
+ * files in directory {@code holidays}. Each file defines the holidays of one
+ * region named like the file without extension.
+ *
+ * <p>
+ * All files are parsed by a single shared {@link HolidayParser}. By default
+ * the loader uses a fixed number of threads equal to the number of available
+ * processors.
+ * </p>
+ */
+public class HolidaysLoader {
+
+	/**
+	 * Result of loading multiple files.
+	 */
+	public static class Result {
+		private final Map<String, List<Holiday>> holidays;
+		private final Map<String, List<HolidaysFileParser.Error>> errors;
+
+		Result(final Map<String, List<Holiday>> holidays, final Map<String, List<HolidaysFileParser.Error>> errors) {
+			this.holidays = Collections.unmodifiableMap(holidays);
+			this.errors = Collections.unmodifiableMap(errors);
+		}
+
+		/**
+		 * Get the holidays of each region.
+		 *
+		 * @return map from the name of each region to its holidays, sorted by name
+		 */
+		public Map<String, List<Holiday>> getHolidays() {
+			return holidays;
+		}
+
+		/**
+		 * Get the errors that occurred during parsing the files.
+		 *
+		 * @return map from the name of each region with errors to the list of its
+		 *         errors, sorted by name
+		 */
+		public Map<String, List<HolidaysFileParser.Error>> getErrors() {
+			return errors;
+		}
+	}
+
+	/** Default extension of files containing holiday definitions. */
+	public static final String DEFAULT_EXTENSION = ".cfg";
+
+	private final HolidayParser holidayParser = new HolidayParser();
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	private ExecutorService executor = null;
+	private String extension = DEFAULT_EXTENSION;
+	private HolidayMetrics metrics = HolidayMetrics.NOOP;
+
+	/**
+	 * Create a new instance.
+	 */
+	public HolidaysLoader() {
+		// intentionally empty
+	}
+
+	/**
+	 * Use the specified number of threads for loading files. Default is the number
+	 * of available processors.
+	 *
+	 * @param parallelism number of threads
+	 * @return self for fluent programming
+	 */
+	public HolidaysLoader withParallelism(final int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Argument parallelism must be >= 1, but was " + parallelism);
+		}
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 * Use the specified executor for loading files instead of creating a new
+	 * thread pool for each call of {@link #load(Path)}. The loader does not shut
+	 * down the executor.
+	 *
+	 * @param executor executor for loading files
+	 * @return self for fluent programming
+	 */
+	public HolidaysLoader withExecutor(final ExecutorService executor) {
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * Load only files with the specified extension from a directory. Default is
+	 * {@value #DEFAULT_EXTENSION}.
+	 *
+	 * @param extension extension of the files including the leading dot
+	 * @return self for fluent programming
+	 */
+	public HolidaysLoader withExtension(final String extension) {
+		this.extension = extension;
+		return this;
+	}
+
+	/**
+	 * Report the number of lines and the time spent for parsing each file to the
+	 * specified metrics listener, which must be thread-safe.
+	 *
+	 * @param metrics listener for metrics
+	 * @return self for fluent programming
+	 */
+	public HolidaysLoader withMetrics(final HolidayMetrics metrics) {
+		this.metrics = metrics;
+		return this;
+	}
+
+	/**
+	 * Load all files with the configured extension from a directory.
+	 * Subdirectories are ignored.
+	 *
+	 * @param directory directory to load the files from
+	 * @return holidays and errors of each region
+	 * @throws IOException in case of failures reading the directory or the files
+	 */
+	public Result load(final Path directory) throws IOException {
+		final List<Path> files;
+		try (Stream<Path> stream = Files.list(directory)) {
+			files = stream
+					.filter(Files::isRegularFile)
+					.filter(f -> f.getFileName().toString().endsWith(extension))
+					.toList();
+		}
+		return load(files);
+	}
+
+	/**
+	 * Load the specified files.
+	 *
+	 * @param files files to load
+	 * @return holidays and errors of each region
+	 * @throws IOException in case of failures reading the files
+	 */
+	public Result load(final Collection<Path> files) throws IOException {
+		final Map<String, Path> regions = new TreeMap<>();
+		for (final Path file : files) {
+			final Path previous = regions.put(regionName(file), file);
+			if (previous != null) {
+				throw new IllegalArgumentException("Files " + previous + " and " + file + " define the same region");
+			}
+		}
+
+		final ExecutorService service = executor != null ? executor : Executors.newFixedThreadPool(parallelism);
+		try {
+			final Map<String, HolidaysFileParser> parsers = new TreeMap<>();
+			final Map<String, Future<List<Holiday>>> results = new TreeMap<>();
+			for (final Map.Entry<String, Path> region : regions.entrySet()) {
+				final HolidaysFileParser parser = new HolidaysFileParser(region.getValue().toString(), holidayParser)
+						.withMetrics(metrics);
+				parsers.put(region.getKey(), parser);
+				results.put(region.getKey(), service.submit(() -> parse(parser, region.getValue())));
+			}
+
+			final Map<String, List<Holiday>> holidays = new TreeMap<>();
+			final Map<String, List<HolidaysFileParser.Error>> errors = new TreeMap<>();
+			for (final Map.Entry<String, Future<List<Holiday>>> result : results.entrySet()) {
+				holidays.put(result.getKey(), await(result.getValue()));
+				// completion of the future makes the errors of the parser visible
+				final List<HolidaysFileParser.Error> fileErrors = parsers.get(result.getKey()).getErrors();
+				if (!fileErrors.isEmpty()) {
+					errors.put(result.getKey(), fileErrors);
+				}
+			}
+			return new Result(holidays, errors);
+		} finally {
+			if (executor == null) {
+				service.shutdownNow();
+			}
+		}
+	}
+
+	private static List<Holiday> parse(final HolidaysFileParser parser, final Path file) {
+		try (InputStream stream = Files.newInputStream(file)) {
+			return parser.parse(stream);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static <T> T await(final Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while loading holidays", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private String regionName(final Path file) {
+		final String name = file.getFileName().toString();
+		return name.endsWith(extension) ? name.substring(0, name.length() - extension.length()) : name;
+	}
+}
@@ -1,7 +1,5 @@
 package org.itsallcode.holidays.calculator.logic.parser.matcher;
 
-import java.util.regex.Matcher;
-
 import org.itsallcode.holidays.calculator.logic.variants.EasterBasedHoliday;
 import org.itsallcode.holidays.calculator.logic.variants.Holiday;
 
@@ -11,7 +9,7 @@ class EasterBasedMatcher extends HolidayMatcher {
 	}
 
 	@Override
-	Holiday createHoliday(Matcher matcher) {
+	Holiday createHoliday(final MatchedGroups matcher) {
 		return new EasterBasedHoliday(
 				matcher.group(Patterns.CATEGORY_GROUP),
 				matcher.group(Patterns.NAME_GROUP),
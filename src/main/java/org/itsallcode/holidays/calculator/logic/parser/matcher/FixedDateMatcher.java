@@ -1,8 +1,6 @@
 package org.itsallcode.holidays.calculator.logic.parser.matcher;
 
 import java.time.MonthDay;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.itsallcode.holidays.calculator.logic.conditions.builder.ConditionBuilder;
 import org.itsallcode.holidays.calculator.logic.variants.*;
@@ -13,7 +11,7 @@ class FixedDateMatcher extends HolidayMatcher {
 	}
 
 	@Override
-	FixedDateHoliday createHoliday(final Matcher matcher) {
+	FixedDateHoliday createHoliday(final MatchedGroups matcher) {
 		return new FixedDateHoliday(
 				matcher.group(Patterns.CATEGORY_GROUP),
 				matcher.group(Patterns.NAME_GROUP),
@@ -26,7 +24,7 @@ class FixedDateMatcher extends HolidayMatcher {
 		}
 
 		@Override
-		Holiday createHoliday(final Matcher matcher) {
+		Holiday createHoliday(final MatchedGroups matcher) {
 			final ConditionBuilder conditionBuilder = createConditionBuilder(matcher) //
 					.withPivotDate(monthDay(matcher, Patterns.MONTH_GROUP_2, Patterns.DAY_GROUP_2));
 			return new ConditionalHoliday( //
@@ -38,13 +36,13 @@ class FixedDateMatcher extends HolidayMatcher {
 	static class Alternative extends HolidayMatcher {
 		private final boolean negated;
 
-		Alternative(final Pattern pattern) {
-			super(new FixedDateMatcher(), pattern);
-			this.negated = (pattern == Patterns.ALTERNATIVE_DATE_HOLIDAY_NEGATED_DAY_OF_WEEK);
+		Alternative(final Syntax syntax) {
+			super(new FixedDateMatcher(), syntax);
+			this.negated = (syntax == Patterns.ALTERNATIVE_DATE_HOLIDAY_NEGATED_DAY_OF_WEEK);
 		}
 
 		@Override
-		Holiday createHoliday(final Matcher matcher) {
+		Holiday createHoliday(final MatchedGroups matcher) {
 			final MonthDay originalDate = monthDay(matcher, Patterns.MONTH_GROUP, Patterns.DAY_GROUP);
 			final ConditionBuilder conditionBuilder = createConditionBuilder(matcher).withPivotDate(originalDate);
 			final MonthDay alternateDate = monthDay(matcher, Patterns.MONTH_GROUP_2, Patterns.DAY_GROUP_2);
@@ -2,7 +2,6 @@ package org.itsallcode.holidays.calculator.logic.parser.matcher;
 
 import java.time.DayOfWeek;
 import java.time.MonthDay;
-import java.util.regex.Matcher;
 
 import org.itsallcode.holidays.calculator.logic.variants.FloatingHoliday;
 import org.itsallcode.holidays.calculator.logic.variants.FloatingHoliday.Day;
@@ -15,7 +14,7 @@ class FloatingDateMatcher extends HolidayMatcher {
 	}
 
 	@Override
-	Holiday createHoliday(final Matcher matcher) {
+	Holiday createHoliday(final MatchedGroups matcher) {
 		final DayOfWeek dayOfWeek = dayOfWeek(matcher.group(Patterns.DAY_OF_WEEK_GROUP));
 		if (dayOfWeek == null) {
 			return null;
@@ -42,7 +41,7 @@ class FloatingDateMatcher extends HolidayMatcher {
 		}
 
 		@Override
-		Holiday createHoliday(final Matcher matcher) {
+		Holiday createHoliday(final MatchedGroups matcher) {
 			final Direction direction = Direction.parse(matcher.group(Patterns.DIRECTION_GROUP_2));
 			final int offset = Integer.parseInt(matcher.group(Patterns.OFFSET_GROUP_2));
 			return createOriginalHoliday(matcher).withOffsetInDays(direction == Direction.BEFORE ? -offset : offset);
@@ -4,7 +4,6 @@ import java.time.*;
 import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.itsallcode.holidays.calculator.logic.conditions.builder.ConditionBuilder;
 import org.itsallcode.holidays.calculator.logic.parser.AbbreviationParser;
@@ -15,39 +14,36 @@ import org.itsallcode.holidays.calculator.logic.variants.Holiday;
  */
 public abstract class HolidayMatcher {
 
-	private static final Pattern MONTH_NAME_PATTERN = Pattern.compile(
-			Patterns.NAME_REGEXP, Pattern.CASE_INSENSITIVE);
-
 	private final AbbreviationParser<Month> monthNameParser = new AbbreviationParser<>(Month.class);
 	private final AbbreviationParser<DayOfWeek> dayOfWeekParser = new AbbreviationParser<>(DayOfWeek.class);
-	private final Pattern pattern;
+	private final Syntax syntax;
 
 	private final HolidayMatcher originalMatcher;
 
 	/**
 	 * Create a new instance of a generic holiday matcher based on the provided
-	 * pattern.
+	 * syntax.
 	 *
-	 * @param pattern pattern for detecting the current matcher to be used for
-	 *                parsing the holiday from the specification.
+	 * @param syntax syntax for detecting the current matcher to be used for
+	 *               parsing the holiday from the specification.
 	 */
-	protected HolidayMatcher(final Pattern pattern) {
-		this(null, pattern);
+	HolidayMatcher(final Syntax syntax) {
+		this(null, syntax);
 	}
 
 	/**
 	 * Create a new instance of a generic holiday matcher based on the provided
-	 * matcher for the original date of the holiday and a pattern for additional
+	 * matcher for the original date of the holiday and a syntax for additional
 	 * modifications, e.g. conditions, alternative dates, or time deltas from the
 	 * original date.
 	 *
 	 * @param originalMatcher matcher for the original holiday specification
-	 * @param pattern         pattern for detecting the current matcher to be used
+	 * @param syntax          syntax for detecting the current matcher to be used
 	 *                        for parsing the holiday from the specification.
 	 */
-	protected HolidayMatcher(final HolidayMatcher originalMatcher, final Pattern pattern) {
+	HolidayMatcher(final HolidayMatcher originalMatcher, final Syntax syntax) {
 		this.originalMatcher = originalMatcher;
-		this.pattern = pattern;
+		this.syntax = syntax;
 	}
 
 	/**
@@ -70,17 +66,24 @@ public abstract class HolidayMatcher {
 		};
 	}
 
-	abstract Holiday createHoliday(Matcher matcher);
+	abstract Holiday createHoliday(MatchedGroups matcher);
+
+	/**
+	 * @return keyword identifying the type of holidays matched by this matcher
+	 */
+	String getKeyword() {
+		return syntax.getKeyword();
+	}
 
 	/**
 	 * Return the original holiday specified, e.g. if the condition is
 	 * {@code false}.
 	 *
-	 * @param matcher regular expression matcher for retrieving the specification of
-	 *                the original holiday
+	 * @param matcher matched groups for retrieving the specification of the
+	 *                original holiday
 	 * @return the original holiday
 	 */
-	protected Holiday createOriginalHoliday(final Matcher matcher) {
+	protected Holiday createOriginalHoliday(final MatchedGroups matcher) {
 		return originalMatcher.createHoliday(matcher);
 	}
 
@@ -91,11 +94,26 @@ public abstract class HolidayMatcher {
 	 * @return holiday parsed from the specification
 	 */
 	public Holiday createHoliday(final String line) {
-		final Matcher matcher = pattern.matcher(line);
+		final Matcher matcher = syntax.getPattern().matcher(line);
 		if (!matcher.matches()) {
 			return null;
 		}
-		return createHoliday(matcher);
+		return createHoliday(matcher::group);
+	}
+
+	/**
+	 * Create a new holiday based on the words of the current line of input.
+	 *
+	 * @param words words of the textual specification for the holiday
+	 * @return holiday parsed from the specification or {@code null} if the words do
+	 *         not match the syntax of this matcher
+	 */
+	Holiday createHoliday(final LineTokenizer words) {
+		final MatchedGroups groups = syntax.match(words);
+		if (groups == null) {
+			return null;
+		}
+		return createHoliday(groups);
 	}
 
 	/**
@@ -105,7 +123,7 @@ public abstract class HolidayMatcher {
 	 * @return number of month as integer
 	 */
 	protected int monthNumber(final String arg) {
-		if (MONTH_NAME_PATTERN.matcher(arg).matches()) {
+		if (WordType.LETTERS.accepts(arg, 0, arg.length())) {
 			return monthNameParser.getEnumFor(arg).getValue();
 		} else {
 			return Integer.parseInt(arg);
@@ -115,13 +133,13 @@ public abstract class HolidayMatcher {
 	/**
 	 * Parse a {@link MonthDay} instance from specified matching groups.
 	 *
-	 * @param matcher    matcher to retrieve the groups from
+	 * @param matcher    matched groups to retrieve the month and day from
 	 * @param monthGroup name of the regex group for retrieving the month from
 	 * @param dayGroup   name of the regex group for retrieving the day of month
 	 *                   from
 	 * @return {@link MonthDay} instance
 	 */
-	protected MonthDay monthDay(final Matcher matcher, final String monthGroup, final String dayGroup) {
+	protected MonthDay monthDay(final MatchedGroups matcher, final String monthGroup, final String dayGroup) {
 		return MonthDay.of(monthNumber(matcher.group(monthGroup)), Integer.parseInt(matcher.group(dayGroup)));
 	}
 
@@ -155,11 +173,11 @@ public abstract class HolidayMatcher {
 	 * Create a builder for a condition that is {@code true} on the specified days
 	 * of the week
 	 *
-	 * @param matcher regular expression matcher for retrieving the specification
-	 *                for the condition
+	 * @param matcher matched groups for retrieving the specification for the
+	 *                condition
 	 * @return condition builder
 	 */
-	protected ConditionBuilder createConditionBuilder(final Matcher matcher) {
+	protected ConditionBuilder createConditionBuilder(final MatchedGroups matcher) {
 		return new ConditionBuilder()
 				.withDaysOfWeek(daysOfWeek(matcher.group(Patterns.PIVOT_DAYS_OF_WEEK_GROUP)));
 	}
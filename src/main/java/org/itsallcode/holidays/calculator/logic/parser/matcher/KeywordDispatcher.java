@@ -0,0 +1,63 @@
+package org.itsallcode.holidays.calculator.logic.parser.matcher;
+
+import java.util.*;
+
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+
+/**
+ * Parses a holiday specification without regular expressions. The dispatcher
+ * splits the specification into words once and selects the matchers by the
+ * keyword for the type of holiday, e.g. "fixed" or "easter". Matchers sharing
+ * the same keyword are tried in the same order as in
+ * {@link HolidayMatcher#matchers()}, so the result is identical to trying all
+ * regular expressions in turn.
+ */
+public class KeywordDispatcher {
+
+	private final Map<String, HolidayMatcher[]> matchersByKeyword = new HashMap<>();
+
+	/**
+	 * Create a new instance for all available holiday matchers.
+	 */
+	public KeywordDispatcher() {
+		final Map<String, List<HolidayMatcher>> map = new HashMap<>();
+		for (final HolidayMatcher matcher : HolidayMatcher.matchers()) {
+			map.computeIfAbsent(matcher.getKeyword(), k -> new ArrayList<>()).add(matcher);
+		}
+		map.forEach((keyword, list) -> matchersByKeyword.put(keyword, list.toArray(new HolidayMatcher[0])));
+	}
+
+	/**
+	 * Parse a single holiday from a string containing the holiday's specification.
+	 *
+	 * @param line specification of the holiday without leading or trailing white
+	 *             space
+	 * @return parsed holiday or {@code null} if none of the available holiday
+	 *         matchers matched the specification
+	 */
+	public Holiday parse(final String line) {
+		final LineTokenizer words = new LineTokenizer(line);
+		if (words.count() < 2) {
+			return null;
+		}
+		final HolidayMatcher[] matchers = matchersByKeyword.get(lowerCase(words, 1));
+		if (matchers == null) {
+			return null;
+		}
+		for (final HolidayMatcher matcher : matchers) {
+			final Holiday holiday = matcher.createHoliday(words);
+			if (holiday != null) {
+				return holiday;
+			}
+		}
+		return null;
+	}
+
+	private static String lowerCase(final LineTokenizer words, final int index) {
+		final char[] chars = new char[words.end(index) - words.start(index)];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = WordType.toLowerCase(words.line().charAt(words.start(index) + i));
+		}
+		return new String(chars);
+	}
+}
@@ -0,0 +1,84 @@
+package org.itsallcode.holidays.calculator.logic.parser.matcher;
+
+import java.util.Arrays;
+
+/**
+ * Splits a holiday specification into words separated by white space in a
+ * single pass. Each {@link Syntax} matches its elements against these words
+ * instead of applying a regular expression to the whole line.
+ */
+final class LineTokenizer {
+
+	private final String line;
+	private int[] starts = new int[16];
+	private int[] ends = new int[16];
+	private int count = 0;
+
+	/**
+	 * Split a line into words.
+	 *
+	 * @param line line without leading or trailing white space
+	 */
+	LineTokenizer(final String line) {
+		this.line = line;
+		int i = 0;
+		while (i < line.length()) {
+			while (i < line.length() && isWhitespace(line.charAt(i))) {
+				i++;
+			}
+			if (i == line.length()) {
+				break;
+			}
+			final int start = i;
+			while (i < line.length() && !isWhitespace(line.charAt(i))) {
+				i++;
+			}
+			add(start, i);
+		}
+	}
+
+	private void add(final int start, final int end) {
+		if (count == starts.length) {
+			starts = Arrays.copyOf(starts, 2 * count);
+			ends = Arrays.copyOf(ends, 2 * count);
+		}
+		starts[count] = start;
+		ends[count] = end;
+		count++;
+	}
+
+	/**
+	 * White space as in regular expression {@code \s}.
+	 */
+	private static boolean isWhitespace(final char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	String line() {
+		return line;
+	}
+
+	int count() {
+		return count;
+	}
+
+	int start(final int index) {
+		return starts[index];
+	}
+
+	int end(final int index) {
+		return ends[index];
+	}
+
+	String word(final int index) {
+		return line.substring(starts[index], ends[index]);
+	}
+
+	/**
+	 * @param index index of the first word
+	 * @return remainder of the line starting with the specified word
+	 */
+	String remainder(final int index) {
+		return line.substring(starts[index]);
+	}
+}
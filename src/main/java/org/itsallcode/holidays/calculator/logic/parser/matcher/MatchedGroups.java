@@ -0,0 +1,17 @@
+package org.itsallcode.holidays.calculator.logic.parser.matcher;
+
+/**
+ * Provides the parts of a holiday specification matched by the named groups of
+ * a {@link Syntax}, either by a regular expression or by a {@link LineTokenizer}.
+ */
+@FunctionalInterface
+public interface MatchedGroups {
+
+	/**
+	 * Get the part of the specification matched by a named group.
+	 *
+	 * @param groupName name of the group
+	 * @return matched part of the specification
+	 */
+	String group(String groupName);
+}
@@ -1,10 +1,6 @@
 package org.itsallcode.holidays.calculator.logic.parser.matcher;
 
-import static org.itsallcode.holidays.calculator.logic.parser.Token.buildRegexp;
-
-import java.util.regex.Pattern;
-
-import org.itsallcode.holidays.calculator.logic.parser.Token;
+import org.itsallcode.holidays.calculator.logic.parser.matcher.Syntax.TypedToken;
 
 /**
  * Shared patterns for creating regular expressions.
@@ -39,51 +35,57 @@ public final class Patterns {
 	private static final String OFFSET_REGEXP = "\\d\\d?";
 	private static final String DIRECTION_REGEXP = "before|after";
 
-	// tokens for regular expressions
-	private static final Token CATEGORY = new Token(CATEGORY_GROUP, "\\S+");
-	private static final Token MONTH = new Token(MONTH_GROUP, MONTH_REGEX);
-	private static final Token DAY = new Token(DAY_GROUP, DAY_REGEX);
-	private static final Token DAY_OR_DEFAULT = new Token(DAY_GROUP, DAY.pattern + "|" + LAST_DAY);
-	private static final Token OFFSET = new Token(OFFSET_GROUP, "[+-]?\\d\\d?");
-	private static final Token POSITIVE_OFFSET = new Token(OFFSET_GROUP, OFFSET_REGEXP);
-	private static final Token POSITIVE_OFFSET_2 = new Token(OFFSET_GROUP_2, OFFSET_REGEXP);
-	private static final Token DIRECTION = new Token(DIRECTION_GROUP, DIRECTION_REGEXP);
-	private static final Token DIRECTION_2 = new Token(DIRECTION_GROUP_2, DIRECTION_REGEXP);
-	private static final Token DAY_OF_WEEK = new Token(DAY_OF_WEEK_GROUP, NAME_REGEXP);
-	private static final Token HOLIDAY_NAME = new Token(NAME_GROUP, ".*");
-
-	private static final Token MONTH_2 = new Token(MONTH_GROUP_2, MONTH_REGEX);
-	private static final Token DAY_2 = new Token(DAY_GROUP_2, DAY_REGEX);
-	private static final Token PIVOT_DAYS_OF_WEEK = new Token(PIVOT_DAYS_OF_WEEK_GROUP, NAMES_REGEXP);
-
-	// patterns
-	static final Pattern FIXED_HOLIDAY = buildRegexp(CATEGORY, "fixed", MONTH, DAY,
+	// tokens for regular expressions, each with a word type accepting the same
+	// words for matching with a LineTokenizer
+	private static final TypedToken CATEGORY = new TypedToken(CATEGORY_GROUP, "\\S+", WordType.ANY);
+	private static final TypedToken MONTH = new TypedToken(MONTH_GROUP, MONTH_REGEX, WordType.MONTH);
+	private static final TypedToken DAY = new TypedToken(DAY_GROUP, DAY_REGEX, WordType.DAY);
+	private static final TypedToken DAY_OR_DEFAULT = new TypedToken(DAY_GROUP, DAY.pattern + "|" + LAST_DAY,
+			WordType.DAY_OR_LAST_DAY);
+	private static final TypedToken OFFSET = new TypedToken(OFFSET_GROUP, "[+-]?\\d\\d?", WordType.SIGNED_OFFSET);
+	private static final TypedToken POSITIVE_OFFSET = new TypedToken(OFFSET_GROUP, OFFSET_REGEXP, WordType.OFFSET);
+	private static final TypedToken POSITIVE_OFFSET_2 = new TypedToken(OFFSET_GROUP_2, OFFSET_REGEXP,
+			WordType.OFFSET);
+	private static final TypedToken DIRECTION = new TypedToken(DIRECTION_GROUP, DIRECTION_REGEXP,
+			WordType.DIRECTION);
+	private static final TypedToken DIRECTION_2 = new TypedToken(DIRECTION_GROUP_2, DIRECTION_REGEXP,
+			WordType.DIRECTION);
+	private static final TypedToken DAY_OF_WEEK = new TypedToken(DAY_OF_WEEK_GROUP, NAME_REGEXP, WordType.LETTERS);
+	private static final TypedToken HOLIDAY_NAME = new TypedToken(NAME_GROUP, ".*", WordType.REMAINDER);
+
+	private static final TypedToken MONTH_2 = new TypedToken(MONTH_GROUP_2, MONTH_REGEX, WordType.MONTH);
+	private static final TypedToken DAY_2 = new TypedToken(DAY_GROUP_2, DAY_REGEX, WordType.DAY);
+	private static final TypedToken PIVOT_DAYS_OF_WEEK = new TypedToken(PIVOT_DAYS_OF_WEEK_GROUP, NAMES_REGEXP,
+			WordType.LETTERS_OR_COMMAS);
+
+	// syntax of the holiday specifications
+	static final Syntax FIXED_HOLIDAY = new Syntax(CATEGORY, "fixed", MONTH, DAY,
 			HOLIDAY_NAME);
 
-	static final Pattern CONDITIONAL_FIXED_HOLIDAY = buildRegexp(
+	static final Syntax CONDITIONAL_FIXED_HOLIDAY = new Syntax(
 			CATEGORY, "if", MONTH_2, DAY_2, "is", PIVOT_DAYS_OF_WEEK, "then", "fixed", MONTH, DAY,
 			HOLIDAY_NAME);
-	static final Pattern FIXED_HOLIDAY_CONDITIONAL_NEGATED = buildRegexp(
+	static final Syntax FIXED_HOLIDAY_CONDITIONAL_NEGATED = new Syntax(
 			CATEGORY, "if", MONTH_2, DAY_2, "is", "not", PIVOT_DAYS_OF_WEEK, "then", "fixed", MONTH, DAY,
 			HOLIDAY_NAME);
 
-	static final Pattern ALTERNATIVE_DATE_HOLIDAY = buildRegexp(
+	static final Syntax ALTERNATIVE_DATE_HOLIDAY = new Syntax(
 			CATEGORY, "either", MONTH, DAY, "or", "if",
 			PIVOT_DAYS_OF_WEEK, "then", "fixed", MONTH_2, DAY_2, HOLIDAY_NAME);
 
-	static final Pattern ALTERNATIVE_DATE_HOLIDAY_NEGATED_DAY_OF_WEEK = buildRegexp(
+	static final Syntax ALTERNATIVE_DATE_HOLIDAY_NEGATED_DAY_OF_WEEK = new Syntax(
 			CATEGORY, "either", MONTH, DAY, "or", "if", "not",
 			PIVOT_DAYS_OF_WEEK, "then", "fixed", MONTH_2, DAY_2, HOLIDAY_NAME);
 
-	static final Pattern FLOATING_HOLIDAY = buildRegexp( //
+	static final Syntax FLOATING_HOLIDAY = new Syntax( //
 			CATEGORY, "float", POSITIVE_OFFSET, DAY_OF_WEEK, DIRECTION, MONTH, DAY_OR_DEFAULT, HOLIDAY_NAME);
 
-	static final Pattern FLOATING_HOLIDAY_WITH_OFFSET_IN_DAYS = buildRegexp( //
+	static final Syntax FLOATING_HOLIDAY_WITH_OFFSET_IN_DAYS = new Syntax( //
 			CATEGORY, "float", POSITIVE_OFFSET_2, "days?", DIRECTION_2, POSITIVE_OFFSET, DAY_OF_WEEK, DIRECTION, MONTH,
 			DAY_OR_DEFAULT, HOLIDAY_NAME);
 
-	static final Pattern EASTER_BASED_HOLIDAY = buildRegexp(CATEGORY, "easter", OFFSET, HOLIDAY_NAME);
-	static final Pattern ORTHODOX_EASTER_BASED_HOLIDAY = buildRegexp( //
+	static final Syntax EASTER_BASED_HOLIDAY = new Syntax(CATEGORY, "easter", OFFSET, HOLIDAY_NAME);
+	static final Syntax ORTHODOX_EASTER_BASED_HOLIDAY = new Syntax( //
 			CATEGORY, "orthodox-easter", OFFSET, HOLIDAY_NAME);
 
 	private Patterns() {
@@ -0,0 +1,124 @@
+package org.itsallcode.holidays.calculator.logic.parser.matcher;
+
+import java.util.regex.Pattern;
+
+import org.itsallcode.holidays.calculator.logic.parser.Token;
+
+/**
+ * Syntax of a holiday specification as sequence of keywords and named tokens.
+ * The syntax can be matched either by a case-insensitive regular expression,
+ * see {@link Token#buildRegexp(Object...)}, or by comparing its elements to the
+ * words of a {@link LineTokenizer}.
+ */
+final class Syntax {
+
+	/**
+	 * Token with a {@link WordType} that accepts the same words as the token's
+	 * regular expression.
+	 */
+	static final class TypedToken extends Token {
+		final WordType type;
+
+		TypedToken(final String groupName, final String pattern, final WordType type) {
+			super(groupName, pattern);
+			this.type = type;
+		}
+	}
+
+	private final Object[] elements;
+	private final Pattern pattern;
+
+	/**
+	 * Create a new syntax.
+	 *
+	 * @param elements keywords in lower case, with an optional trailing
+	 *                 {@code ?} for an optional last character, and instances of
+	 *                 {@link TypedToken}. Only the last element may be of type
+	 *                 {@link WordType#REMAINDER}.
+	 */
+	Syntax(final Object... elements) {
+		for (int i = 0; i < elements.length; i++) {
+			final Object element = elements[i];
+			if (element instanceof TypedToken) {
+				if (((TypedToken) element).type == WordType.REMAINDER && i != elements.length - 1) {
+					throw new IllegalArgumentException("Only the last element may match the remainder of the line");
+				}
+			} else if (!(element instanceof String) || !((String) element).matches("[a-z-]+\\??")) {
+				throw new IllegalArgumentException("Illegal element " + element);
+			}
+		}
+		this.elements = elements;
+		this.pattern = Token.buildRegexp(elements);
+	}
+
+	Pattern getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * @return keyword identifying the type of holiday, i.e. the second element
+	 */
+	String getKeyword() {
+		return (String) elements[1];
+	}
+
+	/**
+	 * Match the elements of this syntax to the words of a line.
+	 *
+	 * @param words words of the line
+	 * @return groups matched by the tokens or {@code null} if the line does not
+	 *         match this syntax
+	 */
+	MatchedGroups match(final LineTokenizer words) {
+		final String line = words.line();
+		final String[] groupNames = new String[elements.length];
+		final String[] values = new String[elements.length];
+		int groups = 0;
+		for (int i = 0; i < elements.length; i++) {
+			if (i >= words.count()) {
+				return null;
+			}
+			final int start = words.start(i);
+			final int end = words.end(i);
+			if (elements[i] instanceof TypedToken) {
+				final TypedToken token = (TypedToken) elements[i];
+				if (token.type == WordType.REMAINDER) {
+					if (!token.type.accepts(line, start, line.length())) {
+						return null;
+					}
+					groupNames[groups] = token.groupName;
+					values[groups++] = words.remainder(i);
+					return groups(groupNames, values, groups);
+				}
+				if (!token.type.accepts(line, start, end)) {
+					return null;
+				}
+				groupNames[groups] = token.groupName;
+				values[groups++] = words.word(i);
+			} else if (!matchesKeyword(line, start, end, (String) elements[i])) {
+				return null;
+			}
+		}
+		return words.count() == elements.length ? groups(groupNames, values, groups) : null;
+	}
+
+	private static boolean matchesKeyword(final String line, final int start, final int end, final String keyword) {
+		if (keyword.endsWith("?")) {
+			final String withoutLast = keyword.substring(0, keyword.length() - 2);
+			return WordType.equalsIgnoreCase(line, start, end, keyword.substring(0, keyword.length() - 1))
+					|| WordType.equalsIgnoreCase(line, start, end, withoutLast);
+		}
+		return WordType.equalsIgnoreCase(line, start, end, keyword);
+	}
+
+	private static MatchedGroups groups(final String[] groupNames, final String[] values, final int count) {
+		return groupName -> {
+			for (int i = 0; i < count; i++) {
+				if (groupNames[i].equals(groupName)) {
+					return values[i];
+				}
+			}
+			throw new IllegalArgumentException("No group with name <" + groupName + ">");
+		};
+	}
+}
@@ -0,0 +1,157 @@
+package org.itsallcode.holidays.calculator.logic.parser.matcher;
+
+/**
+ * Types of the words in a holiday specification. Each type accepts exactly the
+ * words matched by the regular expression of the corresponding {@link Syntax}
+ * element, but checks them with a single pass over the characters.
+ */
+enum WordType {
+	/** any word, regular expression {@code \S+} */
+	ANY {
+		@Override
+		boolean accepts(final String s, final int start, final int end) {
+			return end > start;
+		}
+	},
+	/** regular expression {@code [a-z]+} */
+	LETTERS {
+		@Override
+		boolean accepts(final String s, final int start, final int end) {
+			for (int i = start; i < end; i++) {
+				if (!isLetter(s.charAt(i))) {
+					return false;
+				}
+			}
+			return end > start;
+		}
+	},
+	/** regular expression {@code [a-z,]+} */
+	LETTERS_OR_COMMAS {
+		@Override
+		boolean accepts(final String s, final int start, final int end) {
+			for (int i = start; i < end; i++) {
+				final char c = s.charAt(i);
+				if (!isLetter(c) && c != ',') {
+					return false;
+				}
+			}
+			return end > start;
+		}
+	},
+	/** name of a month or number from 1 to 12 with an optional leading zero */
+	MONTH {
+		@Override
+		boolean accepts(final String s, final int start, final int end) {
+			return LETTERS.accepts(s, start, end) || isNumber(s, start, end, 12);
+		}
+	},
+	/** number from 1 to 31 with an optional leading zero */
+	DAY {
+		@Override
+		boolean accepts(final String s, final int start, final int end) {
+			return isNumber(s, start, end, 31);
+		}
+	},
+	/** day of month or {@value Patterns#LAST_DAY} */
+	DAY_OR_LAST_DAY {
+		@Override
+		boolean accepts(final String s, final int start, final int end) {
+			return DAY.accepts(s, start, end) || equalsIgnoreCase(s, start, end, Patterns.LAST_DAY);
+		}
+	},
+	/** regular expression {@code [+-]?\d\d?} */
+	SIGNED_OFFSET {
+		@Override
+		boolean accepts(final String s, final int start, final int end) {
+			final boolean sign = end > start && (s.charAt(start) == '+' || s.charAt(start) == '-');
+			return OFFSET.accepts(s, sign ? start + 1 : start, end);
+		}
+	},
+	/** regular expression {@code \d\d?} */
+	OFFSET {
+		@Override
+		boolean accepts(final String s, final int start, final int end) {
+			final int length = end - start;
+			return (length == 1 || length == 2) && isDigit(s.charAt(start)) && isDigit(s.charAt(end - 1));
+		}
+	},
+	/** regular expression {@code before|after} */
+	DIRECTION {
+		@Override
+		boolean accepts(final String s, final int start, final int end) {
+			return equalsIgnoreCase(s, start, end, "before") || equalsIgnoreCase(s, start, end, "after");
+		}
+	},
+	/** remainder of the line, regular expression {@code .*} */
+	REMAINDER {
+		@Override
+		boolean accepts(final String s, final int start, final int end) {
+			for (int i = start; i < end; i++) {
+				if (isLineTerminator(s.charAt(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+	};
+
+	/**
+	 * Check if a word is accepted by the current type.
+	 *
+	 * @param s     string containing the word
+	 * @param start index of the first character of the word
+	 * @param end   index after the last character of the word
+	 * @return {@code true} if the word is accepted
+	 */
+	abstract boolean accepts(String s, int start, int end);
+
+	/**
+	 * Compare a word to a keyword ignoring the case of ASCII letters only, like a
+	 * case-insensitive regular expression.
+	 *
+	 * @param s       string containing the word
+	 * @param start   index of the first character of the word
+	 * @param end     index after the last character of the word
+	 * @param keyword keyword in lower case
+	 * @return {@code true} if the word is equal to the keyword
+	 */
+	static boolean equalsIgnoreCase(final String s, final int start, final int end, final String keyword) {
+		if (end - start != keyword.length()) {
+			return false;
+		}
+		for (int i = 0; i < keyword.length(); i++) {
+			if (toLowerCase(s.charAt(start + i)) != keyword.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static char toLowerCase(final char c) {
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
+
+	private static boolean isLetter(final char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	private static boolean isDigit(final char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isLineTerminator(final char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	/**
+	 * @return {@code true} if the word is a number from 1 to max with an optional
+	 *         leading zero for numbers less than 10
+	 */
+	private static boolean isNumber(final String s, final int start, final int end, final int max) {
+		if (!OFFSET.accepts(s, start, end)) {
+			return false;
+		}
+		final int value = Integer.parseInt(s, start, end, 10);
+		return value >= 1 && value <= max;
+	}
+}
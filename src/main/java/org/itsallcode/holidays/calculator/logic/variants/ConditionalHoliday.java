@@ -38,6 +38,32 @@ public class ConditionalHoliday extends Holiday {
 		return other.of(year);
 	}
 
+	@Override
+	public long epochDayOf(final int year) {
+		if (!condition.applies(year)) {
+			return NO_OCCURRENCE;
+		}
+		return other.epochDayOf(year);
+	}
+
+	/**
+	 * Get the condition of this holiday.
+	 *
+	 * @return condition of this holiday
+	 */
+	public Condition getCondition() {
+		return condition;
+	}
+
+	/**
+	 * Get the original holiday that only applies if the condition is met.
+	 *
+	 * @return original holiday
+	 */
+	public Holiday getHoliday() {
+		return other;
+	}
+
 	@Override
 	public String toString() {
 		return other.toString(condition.toString(" only "));
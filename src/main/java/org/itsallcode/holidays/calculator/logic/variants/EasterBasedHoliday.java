@@ -28,6 +28,11 @@ public class EasterBasedHoliday extends PivotDateBasedHoliday {
 		return Easter.gauss(year).plusDays(offsetInDays);
 	}
 
+	@Override
+	public long epochDayOf(final int year) {
+		return Easter.gaussEpochDay(year) + offsetInDays;
+	}
+
 	@Override
 	public int hashCode() {
 		return super.hashCode();
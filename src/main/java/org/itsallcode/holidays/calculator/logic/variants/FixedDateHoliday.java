@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.time.MonthDay;
 import java.util.Objects;
 
+import org.itsallcode.holidays.calculator.logic.EpochDays;
 import org.itsallcode.holidays.calculator.logic.Formatter;
 
 /**
@@ -42,6 +43,11 @@ public class FixedDateHoliday extends Holiday {
 		return monthDay.atYear(year);
 	}
 
+	@Override
+	public long epochDayOf(int year) {
+		return EpochDays.of(year, monthDay);
+	}
+
 	@Override
 	public String toString(Holiday pivot) {
 		if (pivot instanceof FixedDateHoliday
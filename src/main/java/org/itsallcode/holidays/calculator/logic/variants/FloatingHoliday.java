@@ -4,6 +4,7 @@ import java.time.*;
 import java.time.temporal.TemporalAdjusters;
 import java.util.Objects;
 
+import org.itsallcode.holidays.calculator.logic.EpochDays;
 import org.itsallcode.holidays.calculator.logic.Formatter;
 
 /**
@@ -107,6 +108,26 @@ public class FloatingHoliday extends Holiday {
 		return pivotDay.plusDays(7L * delta + offsetInDays);
 	}
 
+	@Override
+	public long epochDayOf(int year) {
+		final long pivotDay = EpochDays.previousOrSame(pivotEpochDay(year), dayOfWeek);
+		final int delta = (direction == Direction.AFTER ? offset - 1 : 1 - offset);
+		return pivotDay + 7L * delta + offsetInDays;
+	}
+
+	private long pivotEpochDay(int year) {
+		if (direction == Direction.AFTER) {
+			return EpochDays.of(year, monthDay) + 6;
+		}
+
+		if (dayInterpretation == Day.LAST) {
+			final int month = monthDay.getMonthValue();
+			return EpochDays.of(year, month, EpochDays.lengthOfMonth(year, month));
+		}
+
+		return EpochDays.of(year, monthDay);
+	}
+
 	private LocalDate pivotDay(int year) {
 		if (direction == Direction.AFTER) {
 			return monthDay.atYear(year).plusDays(6);
@@ -137,6 +158,42 @@ public class FloatingHoliday extends Holiday {
 		return this.monthDay;
 	}
 
+	/**
+	 * Get the offset of this holiday, e.g. 2 for the second Monday.
+	 *
+	 * @return offset of this holiday
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Get the day of the week of this holiday.
+	 *
+	 * @return day of the week
+	 */
+	public DayOfWeek getDayOfWeek() {
+		return dayOfWeek;
+	}
+
+	/**
+	 * Get the direction of this holiday relative to its pivot date.
+	 *
+	 * @return direction relative to the pivot date
+	 */
+	public Direction getDirection() {
+		return direction;
+	}
+
+	/**
+	 * Get the interpretation of the day of month of the pivot date.
+	 *
+	 * @return FIRST, LAST or AS_SPECIFIED
+	 */
+	public Day getDayInterpretation() {
+		return dayInterpretation;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
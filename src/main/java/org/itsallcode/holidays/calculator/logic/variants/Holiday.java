@@ -9,6 +9,12 @@ import java.util.Objects;
  */
 public abstract class Holiday {
 
+	/**
+	 * Value returned by {@link #epochDayOf(int)} if the holiday has no instance in
+	 * the specified year.
+	 */
+	public static final long NO_OCCURRENCE = Long.MIN_VALUE;
+
 	/**
 	 * Create an instance of this holiday for the specified year.
 	 *
@@ -17,6 +23,25 @@ public abstract class Holiday {
 	 */
 	public abstract LocalDate of(int year);
 
+	/**
+	 * Get the instance of this holiday for the specified year as epoch day, see
+	 * {@link LocalDate#toEpochDay()}.
+	 *
+	 * <p>
+	 * In contrast to {@link #of(int)} the built-in subclasses implement this method
+	 * with closed-form arithmetic without allocating any objects. The default
+	 * implementation delegates to {@link #of(int)}.
+	 * </p>
+	 *
+	 * @param year year to instantiate the holiday for
+	 * @return instance of this holiday for the specified year as epoch day or
+	 *         {@link #NO_OCCURRENCE} if the holiday has no instance in this year
+	 */
+	public long epochDayOf(int year) {
+		final LocalDate date = of(year);
+		return date == null ? NO_OCCURRENCE : date.toEpochDay();
+	}
+
 	private final String category;
 	private final String name;
 
@@ -61,6 +86,16 @@ public abstract class Holiday {
 		return this;
 	}
 
+	/**
+	 * Get the offset in days of the holiday relative to the pivot date, see
+	 * {@link #withOffsetInDays(int)}.
+	 *
+	 * @return offset in days between the pivot date and the holiday
+	 */
+	public int getOffsetInDays() {
+		return offsetInDays;
+	}
+
 	/**
 	 * Get the category of this holiday.
 	 *
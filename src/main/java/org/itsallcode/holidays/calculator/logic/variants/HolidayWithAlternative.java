@@ -42,6 +42,42 @@ public class HolidayWithAlternative extends Holiday {
 		}
 	}
 
+	@Override
+	public long epochDayOf(int year) {
+		if (condition.applies(year)) {
+			return alternative.epochDayOf(year);
+		} else {
+			return defaultHoliday.epochDayOf(year);
+		}
+	}
+
+	/**
+	 * Get the default holiday that applies if the condition is {@code false}.
+	 *
+	 * @return default holiday
+	 */
+	public Holiday getDefaultHoliday() {
+		return defaultHoliday;
+	}
+
+	/**
+	 * Get the condition selecting the alternative date.
+	 *
+	 * @return condition of this holiday
+	 */
+	public Condition getCondition() {
+		return condition;
+	}
+
+	/**
+	 * Get the alternative date that applies if the condition is {@code true}.
+	 *
+	 * @return alternative date
+	 */
+	public MonthDay getAlternateDate() {
+		return alternative.getMonthDay();
+	}
+
 	@Override
 	public String toString() {
 		return defaultHoliday.toString(""
@@ -28,6 +28,11 @@ public class OrthodoxEasterBasedHoliday extends PivotDateBasedHoliday {
 		return Easter.orthodox(year).plusDays(offsetInDays);
 	}
 
+	@Override
+	public long epochDayOf(final int year) {
+		return Easter.orthodoxEpochDay(year) + offsetInDays;
+	}
+
 	@Override
 	public int hashCode() {
 		return super.hashCode();
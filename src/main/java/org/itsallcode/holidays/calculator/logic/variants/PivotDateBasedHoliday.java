@@ -34,6 +34,16 @@ public abstract class PivotDateBasedHoliday extends Holiday {
 		this.pivotDateName = pivotDateName;
 	}
 
+	/**
+	 * Get the offset in days between the pivot date and the holiday.
+	 *
+	 * @return offset in days between the pivot date and the holiday
+	 */
+	@Override
+	public int getOffsetInDays() {
+		return offsetInDays;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("%s(%s %s: %s %s)",
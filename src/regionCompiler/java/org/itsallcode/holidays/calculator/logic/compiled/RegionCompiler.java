@@ -0,0 +1,89 @@
+package org.itsallcode.holidays.calculator.logic.compiled;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysLoader;
+
+/**
+ * Compiles the configuration files of all regions in a directory to resources
+ * read by {@link BundledRegions}. Used by the build at compile time and not
+ * part of the library.
+ *
+ * <p>
+ * The bundled regions must be complete, so any line that cannot be parsed
+ * fails the compilation.
+ * </p>
+ */
+public final class RegionCompiler {
+
+	private RegionCompiler() {
+		// only static usage
+	}
+
+	/**
+	 * Compile the configuration files of all regions.
+	 *
+	 * @param args directory containing the configuration files and root
+	 *             directory of the generated resources
+	 * @throws IOException           in case of failures reading or writing the
+	 *                               files
+	 * @throws IllegalStateException if a configuration file contains lines that
+	 *                               cannot be parsed
+	 */
+	public static void main(final String[] args) throws IOException {
+		if (args.length != 2) {
+			throw new IllegalArgumentException("Usage: RegionCompiler <source directory> <target directory>");
+		}
+		compile(Paths.get(args[0]), Paths.get(args[1]));
+	}
+
+	/**
+	 * Compile the configuration files of all regions in the source directory.
+	 *
+	 * @param sourceDir directory containing one configuration file per region
+	 * @param targetDir root directory of the generated resources
+	 * @return names of the compiled regions
+	 * @throws IOException           in case of failures reading or writing the
+	 *                               files
+	 * @throws IllegalStateException if a configuration file contains lines that
+	 *                               cannot be parsed
+	 */
+	static List<String> compile(final Path sourceDir, final Path targetDir) throws IOException {
+		final Path resourceDir = targetDir.resolve(BundledRegions.RESOURCE_PATH);
+		Files.createDirectories(resourceDir);
+
+		final List<Path> files;
+		try (Stream<Path> stream = Files.list(sourceDir)) {
+			files = stream.filter(p -> p.getFileName().toString().endsWith(HolidaysLoader.DEFAULT_EXTENSION))
+					.sorted()
+					.toList();
+		}
+
+		final CompiledHolidaysLoader loader = new CompiledHolidaysLoader();
+		final List<String> regions = new ArrayList<>();
+		for (final Path file : files) {
+			final String fileName = file.getFileName().toString();
+			final String region = fileName.substring(0,
+					fileName.length() - HolidaysLoader.DEFAULT_EXTENSION.length());
+			final List<HolidaysFileParser.Error> errors = loader.compile(file,
+					resourceDir.resolve(region + BundledRegions.EXTENSION));
+			if (!errors.isEmpty()) {
+				throw new IllegalStateException(errors.stream()
+						.map(error -> file + ":" + error.lineNumber + ": invalid line '" + error.content + "'")
+						.collect(Collectors.joining("\n", "Failed to compile region '" + region + "':\n", "")));
+			}
+			regions.add(region);
+		}
+		Files.write(resourceDir.resolve(BundledRegions.INDEX), regions, StandardCharsets.UTF_8);
+		return regions;
+	}
+}
@@ -0,0 +1,55 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.itsallcode.holidays.calculator.logic.compiled.BundledRegions;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.junit.jupiter.api.Test;
+
+class BundledRegionsTest {
+
+	@Test
+	void names() {
+		assertThat(BundledRegions.names()).contains("Bavaria", "Costa Rica", "USA");
+	}
+
+	@Test
+	void bundledRegionsMatchConfigurationFiles() throws IOException {
+		for (final String region : BundledRegions.names()) {
+			final Path file = Paths.get("holidays", region + ".cfg");
+			assertThat(BundledRegions.holidays(region)).as(region)
+					.isEqualTo(new HolidaysFileParser(file.toString()).parse(file));
+		}
+	}
+
+	@Test
+	void holidaysAreNotShared() {
+		final List<Holiday> first = BundledRegions.holidays("Bavaria");
+		final List<Holiday> second = BundledRegions.holidays("Bavaria");
+		assertThat(second).isEqualTo(first);
+		assertThat(second.get(0)).isNotSameAs(first.get(0));
+
+		final int offsetInDays = first.get(0).getOffsetInDays();
+		first.get(0).withOffsetInDays(offsetInDays + 7);
+		assertThat(BundledRegions.holidays("Bavaria").get(0).getOffsetInDays()).isEqualTo(offsetInDays);
+		assertThat(BundledRegions.holidaySet("Bavaria").instances(LocalDate.of(2021, 12, 25))).hasSize(1);
+	}
+
+	@Test
+	void holidaySet() {
+		assertThat(BundledRegions.holidaySet("Bavaria").instances(LocalDate.of(2021, 12, 25))).hasSize(1);
+	}
+
+	@Test
+	void unknownRegion() {
+		assertThrows(IllegalArgumentException.class, () -> BundledRegions.holidays("Atlantis"));
+	}
+}
@@ -0,0 +1,129 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class BusinessCalendarTest {
+
+	@Test
+	void businessDays() throws IOException {
+		final BusinessCalendar calendar = new BusinessCalendar(readBavarianHolidays());
+		assertThat(calendar.isBusinessDay(LocalDate.of(2021, 12, 23))).isTrue();
+		assertThat(calendar.isBusinessDay(LocalDate.of(2021, 12, 25))).isFalse();
+		assertThat(calendar.isBusinessDay(LocalDate.of(2021, 12, 27))).isTrue();
+		assertThat(calendar.isBusinessDay(LocalDate.of(2022, 1, 1))).isFalse();
+		assertThat(calendar.isBusinessDay(LocalDate.of(2022, 1, 6))).isFalse();
+	}
+
+	@ParameterizedTest(name = "{0} + {1} business days = {2}")
+	@CsvSource(value = {
+			"2021-12-23, 0, 2021-12-23",
+			"2021-12-25, 0, 2021-12-25",
+			"2021-12-23, 1, 2021-12-24",
+			"2021-12-24, 1, 2021-12-27",
+			"2021-12-24, 5, 2021-12-31",
+			"2021-12-24, 6, 2022-01-03",
+			"2021-12-24, 7, 2022-01-04",
+			"2022-01-07, -1, 2022-01-05",
+			"2022-01-03, -1, 2021-12-31",
+			"2022-01-01, -1, 2021-12-31",
+			"2021-12-27, -1, 2021-12-24",
+	})
+	void addBusinessDays(final LocalDate date, final long n, final LocalDate expected) throws IOException {
+		assertThat(new BusinessCalendar(readBavarianHolidays()).addBusinessDays(date, n)).isEqualTo(expected);
+	}
+
+	@Test
+	void businessDaysBetween() throws IOException {
+		final BusinessCalendar calendar = new BusinessCalendar(readBavarianHolidays());
+		final LocalDate from = LocalDate.of(2021, 12, 24);
+		final LocalDate to = LocalDate.of(2022, 1, 4);
+		assertThat(calendar.businessDaysBetween(from, to)).isEqualTo(7L);
+		assertThat(calendar.businessDaysBetween(to, from)).isEqualTo(-7L);
+		assertThat(calendar.businessDaysBetween(from, from)).isEqualTo(0L);
+	}
+
+	@Test
+	void matchesCountingEachDay() throws IOException {
+		final HolidaySet holidays = readBavarianHolidays();
+		final BusinessCalendar calendar = new BusinessCalendar(holidays, EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY));
+		final LocalDate start = LocalDate.of(2020, 3, 15);
+
+		long count = 0;
+		LocalDate previousBusinessDay = null;
+		for (LocalDate date = start; date.getYear() < 2026; date = date.plusDays(1)) {
+			assertThat(calendar.businessDaysBetween(start, date)).isEqualTo(count);
+			assertThat(calendar.businessDaysBetween(date, start)).isEqualTo(-count);
+			final boolean businessDay = date.getDayOfWeek() != DayOfWeek.FRIDAY
+					&& date.getDayOfWeek() != DayOfWeek.SATURDAY && holidays.instances(date).isEmpty();
+			assertThat(calendar.isBusinessDay(date)).isEqualTo(businessDay);
+			if (businessDay) {
+				if (count > 0) {
+					assertThat(calendar.addBusinessDays(start, count)).isEqualTo(date);
+				}
+				if (previousBusinessDay != null) {
+					assertThat(calendar.addBusinessDays(date, -1)).isEqualTo(previousBusinessDay);
+					assertThat(calendar.addBusinessDays(previousBusinessDay, 1)).isEqualTo(date);
+				}
+				previousBusinessDay = date;
+				count++;
+			}
+		}
+	}
+
+	@Test
+	void spanOfManyYears() throws IOException {
+		final BusinessCalendar calendar = new BusinessCalendar(readBavarianHolidays());
+		final LocalDate from = LocalDate.of(2021, 6, 1);
+		final LocalDate to = calendar.addBusinessDays(from, 100_000);
+		assertThat(to.getYear()).isGreaterThan(2400);
+		assertThat(calendar.businessDaysBetween(from, to)).isEqualTo(100_000L);
+		assertThat(calendar.addBusinessDays(to, -99_999)).isEqualTo(calendar.addBusinessDays(from, 1));
+		assertThat(calendar.addBusinessDays(from, -100_000).getYear()).isLessThan(1650);
+	}
+
+	@Test
+	void distantDatesDoNotFillCache() throws IOException {
+		final HolidaySet holidays = readBavarianHolidays();
+		final BusinessCalendar calendar = new BusinessCalendar(holidays);
+		final LocalDate from = LocalDate.of(2021, 6, 1);
+		final LocalDate to = calendar.addBusinessDays(from, 25_000);
+		assertThat(to.getYear()).isGreaterThan(2100);
+		assertThat(calendar.businessDaysBetween(from, to)).isEqualTo(25_000L);
+		assertThat(calendar.addBusinessDays(to, -25_000)).isEqualTo(from);
+		assertThat(holidays.cachedYears()).isEqualTo(2);
+	}
+
+	@Test
+	void noWeekend() {
+		final BusinessCalendar calendar = new BusinessCalendar(new HolidaySet(List.of()), Set.of());
+		final LocalDate date = LocalDate.of(2021, 12, 24);
+		assertThat(calendar.addBusinessDays(date, 365)).isEqualTo(LocalDate.of(2022, 12, 24));
+		assertThat(calendar.businessDaysBetween(date, date.plusYears(4))).isEqualTo(1461L);
+		assertThat(calendar.getWeekend()).isEmpty();
+	}
+
+	@Test
+	void weekendWithAllDaysIsIllegal() {
+		final HolidaySet holidays = new HolidaySet(List.of());
+		final Set<DayOfWeek> weekend = EnumSet.allOf(DayOfWeek.class);
+		assertThrows(IllegalArgumentException.class, () -> new BusinessCalendar(holidays, weekend));
+	}
+
+	private HolidaySet readBavarianHolidays() throws IOException {
+		final HolidaysFileParser parser = new HolidaysFileParser("bavaria.txt");
+		return new HolidaySet(parser.parse(BusinessCalendarTest.class.getResourceAsStream("bavaria.txt")));
+	}
+}
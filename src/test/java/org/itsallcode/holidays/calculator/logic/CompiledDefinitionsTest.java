@@ -0,0 +1,149 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.itsallcode.holidays.calculator.logic.compiled.CompiledDefinitions;
+import org.itsallcode.holidays.calculator.logic.compiled.CompiledHolidaysLoader;
+import org.itsallcode.holidays.calculator.logic.compiled.StaleDefinitionsException;
+import org.itsallcode.holidays.calculator.logic.conditions.builder.ConditionBuilder;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.variants.*;
+import org.itsallcode.holidays.calculator.logic.variants.FloatingHoliday.Day;
+import org.itsallcode.holidays.calculator.logic.variants.FloatingHoliday.Direction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CompiledDefinitionsTest {
+
+	private static final byte[] HASH = CompiledDefinitions.hash(new byte[0]);
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void roundTripConfigurationFiles() throws IOException {
+		try (Stream<Path> files = Files.list(Paths.get("holidays"))) {
+			for (final Path file : files.toList()) {
+				final List<Holiday> holidays = new HolidaysFileParser(file.toString()).parse(file);
+				assertThat(roundTrip(holidays)).as(file.toString()).isEqualTo(holidays);
+			}
+		}
+	}
+
+	@Test
+	void roundTripAllVariants() throws IOException {
+		final FixedDateHoliday christmas = new FixedDateHoliday("holiday", "Christmas", MonthDay.of(12, 25));
+		final List<Holiday> holidays = List.of(
+				christmas,
+				new FixedDateHoliday("holiday", "Offset", MonthDay.of(3, 1)).withOffsetInDays(-2),
+				new FloatingHoliday("holiday", "Advent", 4, DayOfWeek.SUNDAY, Direction.BEFORE, MonthDay.of(12, 24)),
+				new FloatingHoliday("holiday", "Last", 1, DayOfWeek.MONDAY, Direction.BEFORE, 5, Day.LAST),
+				new FloatingHoliday("holiday", "First", 2, DayOfWeek.FRIDAY, Direction.AFTER, 11, Day.FIRST)
+						.withOffsetInDays(3),
+				new EasterBasedHoliday("holiday", "Good Friday", -2),
+				new OrthodoxEasterBasedHoliday("holiday", "Orthodox Easter", 0),
+				new ConditionalHoliday(new ConditionBuilder()
+						.withDaysOfWeek(List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY))
+						.withPivotDate(MonthDay.of(12, 26))
+						.negated(), christmas),
+				new HolidayWithAlternative(christmas, new ConditionBuilder()
+						.withDaysOfWeek(List.of(DayOfWeek.SUNDAY)), MonthDay.of(12, 27)));
+
+		assertThat(roundTrip(holidays)).isEqualTo(holidays);
+	}
+
+	@Test
+	void stringsAreShared() throws IOException {
+		final List<Holiday> holidays = List.of(
+				new FixedDateHoliday("holiday", "Christmas", MonthDay.of(12, 25)),
+				new FixedDateHoliday("holiday", "Christmas", MonthDay.of(12, 26)));
+		final List<Holiday> result = roundTrip(holidays);
+		assertThat(result.get(0).getName()).isSameAs(result.get(1).getName());
+	}
+
+	@Test
+	void unsupportedHoliday() {
+		final CompiledDefinitions definitions = new CompiledDefinitions(HASH, List.of(new Holiday("c", "n") {
+			@Override
+			public LocalDate of(final int year) {
+				return null;
+			}
+		}));
+		assertThrows(IllegalArgumentException.class, () -> definitions.write(new ByteArrayOutputStream()));
+	}
+
+	@Test
+	void invalidHash() {
+		final byte[] hash = new byte[3];
+		final List<Holiday> holidays = List.of();
+		assertThrows(IllegalArgumentException.class, () -> new CompiledDefinitions(hash, holidays));
+	}
+
+	@Test
+	void invalidStream() {
+		final InputStream stream = new ByteArrayInputStream("holiday fixed 1 1 New Year".getBytes());
+		assertThrows(IOException.class, () -> CompiledDefinitions.read(stream));
+	}
+
+	@Test
+	void sourceHash() throws IOException {
+		final byte[] content = "holiday fixed 1 1 New Year".getBytes(StandardCharsets.UTF_8);
+		final CompiledDefinitions definitions = read(write(
+				new CompiledDefinitions(CompiledDefinitions.hash(content), List.of())));
+		assertThat(definitions.isCompiledFrom(content)).isTrue();
+		assertThat(definitions.isCompiledFrom(new byte[0])).isFalse();
+	}
+
+	@Test
+	void compileAndLoad() throws IOException {
+		final Path cfg = tempDir.resolve("holidays.cfg");
+		final Path compiled = tempDir.resolve("holidays.bin");
+		Files.write(cfg, "holiday fixed 1 1 New Year\nillegal\n".getBytes(StandardCharsets.UTF_8));
+
+		final CompiledHolidaysLoader loader = new CompiledHolidaysLoader();
+		assertThat(loader.compile(cfg, compiled)).hasSize(1);
+		final HolidaySet holidaySet = loader.load(cfg, compiled);
+		assertThat(holidaySet.instances(LocalDate.of(2024, 1, 1))).hasSize(1);
+		try (InputStream stream = Files.newInputStream(compiled)) {
+			assertThat(loader.load(stream).instances(LocalDate.of(2024, 1, 1))).hasSize(1);
+		}
+	}
+
+	@Test
+	void staleDefinitions() throws IOException {
+		final Path cfg = tempDir.resolve("holidays.cfg");
+		final Path compiled = tempDir.resolve("holidays.bin");
+		Files.write(cfg, "holiday fixed 1 1 New Year\n".getBytes(StandardCharsets.UTF_8));
+		final CompiledHolidaysLoader loader = new CompiledHolidaysLoader();
+		loader.compile(cfg, compiled);
+
+		Files.write(cfg, "holiday fixed 1 2 New Year\n".getBytes(StandardCharsets.UTF_8));
+		assertThrows(StaleDefinitionsException.class, () -> loader.load(cfg, compiled));
+	}
+
+	private List<Holiday> roundTrip(final List<Holiday> holidays) throws IOException {
+		return read(write(new CompiledDefinitions(HASH, holidays))).getHolidays();
+	}
+
+	private byte[] write(final CompiledDefinitions definitions) throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		definitions.write(stream);
+		return stream.toByteArray();
+	}
+
+	private CompiledDefinitions read(final byte[] bytes) throws IOException {
+		return CompiledDefinitions.read(new ByteArrayInputStream(bytes));
+	}
+}
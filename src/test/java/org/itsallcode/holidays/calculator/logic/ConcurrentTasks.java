@@ -0,0 +1,52 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Runs a task by multiple threads starting at the same time, shared by the
+ * concurrency tests of different packages.
+ */
+public final class ConcurrentTasks {
+
+	/** Number of threads running the task */
+	public static final int THREADS = 16;
+
+	private static final long TIMEOUT_SECONDS = 60;
+
+	private ConcurrentTasks() {
+		// only static methods
+	}
+
+	/**
+	 * Run the specified task by {@value #THREADS} threads released at the same
+	 * time by a latch.
+	 *
+	 * @param <T>  type of the result of the task
+	 * @param task task to run
+	 * @return results of all threads
+	 * @throws Exception if the task failed or did not finish within the timeout
+	 */
+	public static <T> List<T> runConcurrently(final Callable<T> task) throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		final CountDownLatch start = new CountDownLatch(1);
+		try {
+			final List<Future<T>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return task.call();
+				}));
+			}
+			start.countDown();
+			final List<T> results = new ArrayList<>();
+			for (final Future<T> future : futures) {
+				results.add(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
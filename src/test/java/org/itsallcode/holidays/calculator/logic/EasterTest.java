@@ -8,6 +8,7 @@ import org.itsallcode.holidays.calculator.logic.variants.OrthodoxEasterBasedHoli
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
 
@@ -102,4 +103,62 @@ class EasterTest {
 		assertThat(Easter.gauss(year)).isEqualTo(expectedGaussEaster);
 		assertThat(Easter.orthodox(year)).isEqualTo(expectedOrthodoxEaster);
 	}
+
+	@ParameterizedTest(name = "Easter in year {0} is equal to result of anonymous Gregorian algorithm")
+	@ValueSource(ints = { 1583, 1584, 1999, 2000, 4098, 4099, 4100, 4101, 9999 })
+	void gaussAtTableBoundaries(final int year) {
+		assertThat(Easter.gauss(year)).isEqualTo(anonymousGregorian(year));
+		assertThat(Easter.gaussEpochDay(year)).isEqualTo(anonymousGregorian(year).toEpochDay());
+	}
+
+	@Test
+	void gaussMatchesAnonymousGregorianAlgorithm() {
+		for (int year = 1583; year <= 5000; year++) {
+			assertThat(Easter.gauss(year)).isEqualTo(anonymousGregorian(year));
+		}
+	}
+
+	@Test
+	void orthodoxMatchesJulianAlgorithm() {
+		for (int year = 1900; year < 2100; year++) {
+			assertThat(Easter.orthodox(year)).isEqualTo(julian(year).plusDays(13));
+		}
+	}
+
+	/**
+	 * Source: https://en.wikipedia.org/wiki/Date_of_Easter#Anonymous_Gregorian_algorithm
+	 */
+	private static LocalDate anonymousGregorian(final int year) {
+		final int a = year % 19;
+		final int b = year / 100;
+		final int c = year % 100;
+		final int d = b / 4;
+		final int e = b % 4;
+		final int g = (8 * b + 13) / 25;
+		final int h = (19 * a + b - d - g + 15) % 30;
+		final int i = c / 4;
+		final int k = c % 4;
+		final int l = (32 + 2 * e + 2 * i - h - k) % 7;
+		final int m = (a + 11 * h + 19 * l) / 433;
+		final int month = (h + l - 7 * m + 90) / 25;
+		final int day = (h + l - 7 * m + 33 * month + 19) % 32;
+		return LocalDate.of(year, month, day);
+	}
+
+	/**
+	 * Source: https://en.wikipedia.org/wiki/Date_of_Easter#Meeus's_Julian_algorithm
+	 *
+	 * @return Orthodox Easter Sunday in the Julian calendar, using the fields of
+	 *         {@link LocalDate}
+	 */
+	private static LocalDate julian(final int year) {
+		final int a = year % 4;
+		final int b = year % 7;
+		final int c = year % 19;
+		final int d = (19 * c + 15) % 30;
+		final int e = (2 * a + 4 * b - d + 34) % 7;
+		final int month = (d + e + 114) / 31;
+		final int day = (d + e + 114) % 31 + 1;
+		return LocalDate.of(year, month, day);
+	}
 }
@@ -0,0 +1,79 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class EpochDaysTest {
+
+	@Test
+	void epochDaysMatchLocalDate() {
+		for (LocalDate date = LocalDate.of(1582, 1, 1); date.getYear() < 2500; date = date.plusDays(1)) {
+			final long epochDay = EpochDays.of(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+			assertThat(epochDay).isEqualTo(date.toEpochDay());
+			assertThat(EpochDays.dayOfWeek(epochDay)).isEqualTo(date.getDayOfWeek().getValue());
+			assertThat(EpochDays.previousOrSame(epochDay, DayOfWeek.SUNDAY))
+					.isEqualTo(date.with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY)).toEpochDay());
+		}
+	}
+
+	@Test
+	void leapDayInNonLeapYear() {
+		assertThat(EpochDays.of(2023, MonthDay.of(2, 29))).isEqualTo(MonthDay.of(2, 29).atYear(2023).toEpochDay());
+		assertThat(EpochDays.of(2024, MonthDay.of(2, 29))).isEqualTo(LocalDate.of(2024, 2, 29).toEpochDay());
+	}
+
+	@Test
+	void easterEpochDays() {
+		for (int year = 1583; year < 4100; year++) {
+			assertThat(Easter.gaussEpochDay(year)).isEqualTo(Easter.gauss(year).toEpochDay());
+			assertThat(Easter.orthodoxEpochDay(year)).isEqualTo(Easter.orthodox(year).toEpochDay());
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("configurationFiles")
+	void epochDayOfMatchesInstanceOfHoliday(final Path file) throws IOException {
+		final List<Holiday> holidays;
+		try (InputStream stream = Files.newInputStream(file)) {
+			holidays = new HolidaysFileParser(file.toString()).parse(stream);
+		}
+		for (final Holiday holiday : holidays) {
+			for (int year = 1600; year < 2500; year++) {
+				final LocalDate date = holiday.of(year);
+				final long expected = date == null ? Holiday.NO_OCCURRENCE : date.toEpochDay();
+				assertThat(holiday.epochDayOf(year)).as("%s in %d", holiday, year).isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	void isLeapYear() {
+		for (int year = 1500; year < 2500; year++) {
+			assertThat(EpochDays.isLeapYear(year)).isEqualTo(Year.isLeap(year));
+		}
+	}
+
+	static Stream<Path> configurationFiles() throws IOException {
+		try (Stream<Path> files = Files.list(Paths.get("holidays"))) {
+			return files.filter(f -> f.toString().endsWith(".cfg")).sorted().toList().stream();
+		}
+	}
+}
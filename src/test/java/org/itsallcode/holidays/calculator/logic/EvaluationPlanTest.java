@@ -0,0 +1,76 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.itsallcode.holidays.calculator.logic.conditions.builder.ConditionBuilder;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.variants.*;
+import org.itsallcode.holidays.calculator.logic.variants.FloatingHoliday.Day;
+import org.itsallcode.holidays.calculator.logic.variants.FloatingHoliday.Direction;
+import org.junit.jupiter.api.Test;
+
+class EvaluationPlanTest {
+
+	@Test
+	void configurationFiles() throws IOException {
+		final List<Holiday> definitions = new ArrayList<>();
+		try (Stream<Path> files = Files.list(Paths.get("holidays"))) {
+			for (final Path file : files.toList()) {
+				definitions.addAll(new HolidaysFileParser(file.toString()).parse(file));
+			}
+		}
+		assertSameAsEpochDayOf(definitions);
+	}
+
+	@Test
+	void edgeCases() {
+		final FixedDateHoliday leapDay = new FixedDateHoliday("holiday", "Leap Day", MonthDay.of(2, 29));
+		assertSameAsEpochDayOf(List.of(
+				leapDay,
+				new FixedDateHoliday("holiday", "New Year's Eve", MonthDay.of(12, 31)),
+				new FloatingHoliday("holiday", "Last in February", 1, DayOfWeek.MONDAY, Direction.BEFORE, 2, Day.LAST),
+				new FloatingHoliday("holiday", "After Leap Day", 2, DayOfWeek.SUNDAY, Direction.AFTER,
+						MonthDay.of(2, 29)),
+				new FloatingHoliday("holiday", "Offset", 1, DayOfWeek.FRIDAY, Direction.AFTER, 12, Day.FIRST)
+						.withOffsetInDays(-3),
+				new EasterBasedHoliday("holiday", "Pentecost", 49),
+				new OrthodoxEasterBasedHoliday("holiday", "Orthodox Good Friday", -2),
+				new ConditionalHoliday(new ConditionBuilder()
+						.withDaysOfWeek(List.of(DayOfWeek.MONDAY))
+						.withPivotDate(MonthDay.of(2, 28)), leapDay),
+				new FixedDateHoliday("holiday", "Subclass", MonthDay.of(5, 1)) {
+					@Override
+					public long epochDayOf(final int year) {
+						return super.epochDayOf(year) + 1;
+					}
+
+					@Override
+					public LocalDate of(final int year) {
+						return super.of(year).plusDays(1);
+					}
+				}));
+	}
+
+	private void assertSameAsEpochDayOf(final List<Holiday> definitions) {
+		final Holiday[] array = definitions.toArray(new Holiday[0]);
+		final EvaluationPlan plan = EvaluationPlan.compile(array);
+		final long[] epochDays = new long[array.length];
+		for (int year = -500; year <= 3000; year++) {
+			plan.evaluate(year, EpochDays.of(year, 1, 1), epochDays);
+			for (int i = 0; i < array.length; i++) {
+				assertThat(epochDays[i]).as("%s in %d", array[i], year).isEqualTo(array[i].epochDayOf(year));
+			}
+		}
+	}
+}
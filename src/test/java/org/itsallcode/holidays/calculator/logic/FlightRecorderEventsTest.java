@@ -0,0 +1,92 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.List;
+
+import org.itsallcode.holidays.calculator.logic.cache.EvictionPolicy;
+import org.itsallcode.holidays.calculator.logic.cache.YearCacheBuilder;
+import org.itsallcode.holidays.calculator.logic.jfr.*;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.variants.FixedDateHoliday;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecorderEventsTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void parseEvents() throws IOException {
+		final List<RecordedEvent> events = record(() -> new HolidaysFileParser("Bavaria").parse(
+				new ByteArrayInputStream("holiday fixed 1 1 New Year\nillegal\n".getBytes(StandardCharsets.UTF_8))));
+
+		final RecordedEvent fileParse = single(events, "org.itsallcode.holidays.FileParse");
+		assertThat(fileParse.getString("identifier")).isEqualTo("Bavaria");
+		assertThat(fileParse.getInt("lines")).isEqualTo(2);
+		assertThat(fileParse.getInt("definitions")).isEqualTo(1);
+		assertThat(fileParse.getInt("errors")).isEqualTo(1);
+
+		final RecordedEvent failure = single(events, "org.itsallcode.holidays.LineParseFailure");
+		assertThat(failure.getString("identifier")).isEqualTo("Bavaria");
+		assertThat(failure.getInt("lineNumber")).isEqualTo(2);
+		assertThat(failure.getString("content")).isEqualTo("illegal");
+	}
+
+	@Test
+	void cacheEvents() throws IOException {
+		final HolidaySet holidaySet = new HolidaySet(
+				List.of(new FixedDateHoliday("holiday", "New Year", MonthDay.of(1, 1))),
+				new YearCacheBuilder().withMaximumSize(1).withEvictionPolicy(EvictionPolicy.LRU));
+		final List<RecordedEvent> events = record(() -> {
+			holidaySet.instances(LocalDate.of(2020, 1, 1));
+			holidaySet.instances(LocalDate.of(2021, 1, 1));
+		});
+
+		assertThat(events.stream().filter(e -> e.getEventType().getName().equals("org.itsallcode.holidays.YearCacheFill"))
+				.map(e -> e.getInt("year"))).containsExactly(2020, 2021);
+		final RecordedEvent eviction = single(events, "org.itsallcode.holidays.YearCacheEviction");
+		assertThat(eviction.getInt("year")).isEqualTo(2020);
+		assertThat(eviction.getInt("insertedYear")).isEqualTo(2021);
+		assertThat(eviction.getString("evictionPolicy")).isEqualTo("LRU");
+	}
+
+	private List<RecordedEvent> record(final Action action) throws IOException {
+		final Path file = tempDir.resolve("recording.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(FileParseEvent.class);
+			recording.enable(LineParseFailureEvent.class);
+			recording.enable(YearCacheFillEvent.class);
+			recording.enable(YearCacheEvictionEvent.class);
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(file);
+		}
+		return RecordingFile.readAllEvents(file);
+	}
+
+	private static RecordedEvent single(final List<RecordedEvent> events, final String name) {
+		final List<RecordedEvent> matching = events.stream()
+				.filter(e -> e.getEventType().getName().equals(name))
+				.toList();
+		assertThat(matching).hasSize(1);
+		return matching.get(0);
+	}
+
+	@FunctionalInterface
+	private interface Action {
+		void run() throws IOException;
+	}
+}
@@ -0,0 +1,146 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysLoader;
+import org.itsallcode.holidays.calculator.logic.variants.EasterBasedHoliday;
+import org.itsallcode.holidays.calculator.logic.variants.FixedDateHoliday;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.junit.jupiter.api.Test;
+
+class HolidayCalendarTest {
+
+	private static final LocalDate FROM = LocalDate.of(2000, 1, 1);
+	private static final LocalDate TO = LocalDate.of(2030, 12, 31);
+
+	private static final Holiday CHRISTMAS = new FixedDateHoliday("holiday", "Christmas", MonthDay.of(12, 25));
+	private static final Holiday BOXING_DAY = new FixedDateHoliday("holiday", "Boxing Day", MonthDay.of(12, 26));
+	private static final Holiday GOOD_FRIDAY = new EasterBasedHoliday("holiday", "Good Friday", -2);
+	private static final Holiday VALENTINE = new FixedDateHoliday("anniversary", "Valentine's Day",
+			MonthDay.of(2, 14));
+	private static final Holiday SHUTDOWN_1 = new FixedDateHoliday("shutdown", "Shutdown", MonthDay.of(12, 27));
+	private static final Holiday SHUTDOWN_2 = new FixedDateHoliday("shutdown", "Shutdown", MonthDay.of(12, 28));
+	private static final Holiday ANOTHER_CHRISTMAS = new FixedDateHoliday("shutdown", "Christmas",
+			MonthDay.of(12, 25));
+
+	private final HolidaySet bankHolidays = new HolidaySet(List.of(GOOD_FRIDAY, CHRISTMAS, BOXING_DAY, VALENTINE));
+	private final HolidaySet shutdown = new HolidaySet(List.of(ANOTHER_CHRISTMAS, SHUTDOWN_1, SHUTDOWN_2, CHRISTMAS));
+
+	@Test
+	void union() {
+		final HolidayCalendar union = bankHolidays.union(shutdown);
+		assertThat(union.instances(LocalDate.of(2024, 12, 25))).containsExactly(CHRISTMAS, ANOTHER_CHRISTMAS);
+		assertThat(union.instances(LocalDate.of(2024, 12, 27))).containsExactly(SHUTDOWN_1);
+		assertThat(union.instances(LocalDate.of(2024, 3, 29))).containsExactly(GOOD_FRIDAY);
+		assertThat(union.instances(FROM, TO)).isEqualTo(new HolidaySet(
+				List.of(GOOD_FRIDAY, CHRISTMAS, BOXING_DAY, VALENTINE, ANOTHER_CHRISTMAS, SHUTDOWN_1, SHUTDOWN_2))
+				.instances(FROM, TO));
+	}
+
+	@Test
+	void unionWithItself() {
+		assertThat(bankHolidays.union(bankHolidays).instances(FROM, TO)).isEqualTo(bankHolidays.instances(FROM, TO));
+	}
+
+	@Test
+	void unionWithDuplicateDefinitions() {
+		final Holiday copy = new FixedDateHoliday("holiday", "Christmas", MonthDay.of(12, 25));
+		final HolidaySet duplicates = new HolidaySet(List.of(CHRISTMAS, copy, SHUTDOWN_1));
+		final HolidayCalendar union = bankHolidays.union(duplicates);
+		assertThat(union.instances(LocalDate.of(2024, 12, 25))).containsExactly(CHRISTMAS);
+		assertThat(union.instances(LocalDate.of(2024, 12, 27))).containsExactly(SHUTDOWN_1);
+		assertThat(shutdown.union(duplicates).instances(LocalDate.of(2024, 12, 25)))
+				.containsExactly(ANOTHER_CHRISTMAS, CHRISTMAS);
+	}
+
+	@Test
+	void intersection() {
+		final HolidayCalendar intersection = bankHolidays.intersection(shutdown);
+		assertThat(intersection.instances(FROM, TO)).hasSize(31)
+				.extracting(HolidayInstance::getHoliday)
+				.containsOnly(CHRISTMAS);
+		assertThat(shutdown.intersection(bankHolidays).instances(LocalDate.of(2024, 12, 25)))
+				.containsExactly(ANOTHER_CHRISTMAS, CHRISTMAS);
+	}
+
+	@Test
+	void difference() {
+		final HolidayCalendar difference = shutdown.difference(bankHolidays);
+		assertThat(difference.instances(LocalDate.of(2024, 12, 25))).isEmpty();
+		assertThat(difference.instances(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)))
+				.extracting(HolidayInstance::getHoliday)
+				.containsExactly(SHUTDOWN_1, SHUTDOWN_2);
+	}
+
+	@Test
+	void categories() {
+		assertThat(bankHolidays.withoutCategories("anniversary").instances(FROM, TO))
+				.isEqualTo(new HolidaySet(List.of(GOOD_FRIDAY, CHRISTMAS, BOXING_DAY)).instances(FROM, TO));
+		assertThat(bankHolidays.union(shutdown).withCategories("shutdown").instances(FROM, TO))
+				.isEqualTo(new HolidaySet(List.of(ANOTHER_CHRISTMAS, SHUTDOWN_1, SHUTDOWN_2)).instances(FROM, TO));
+		assertThat(bankHolidays.withCategories().instances(FROM, TO)).isEmpty();
+	}
+
+	@Test
+	void composedViews() {
+		final HolidayCalendar calendar = bankHolidays.union(shutdown).withoutCategories("anniversary");
+		assertThat(calendar.next(LocalDate.of(2024, 12, 26)))
+				.map(HolidayInstance::getHoliday)
+				.contains(BOXING_DAY);
+		assertThat(calendar.previous(LocalDate.of(2024, 3, 1)))
+				.map(HolidayInstance::getDate)
+				.contains(LocalDate.of(2023, 12, 28));
+		assertThat(calendar.nextN(LocalDate.of(2024, 12, 26), 3))
+				.extracting(HolidayInstance::getHoliday)
+				.containsExactly(BOXING_DAY, SHUTDOWN_1, SHUTDOWN_2);
+		assertThat(new BusinessCalendar(calendar).businessDaysBetween(LocalDate.of(2024, 12, 23),
+				LocalDate.of(2025, 1, 1))).isEqualTo(4);
+	}
+
+	@Test
+	void viewsReuseCachedYears() {
+		bankHolidays.precompute(2024, 2024);
+		shutdown.precompute(2024, 2024);
+		final HolidayCalendar calendar = bankHolidays.union(shutdown).difference(shutdown).withCategories("holiday");
+		calendar.instances(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+		assertThat(bankHolidays.getCacheStatistics().getMisses()).isZero();
+		assertThat(shutdown.getCacheStatistics().getMisses()).isZero();
+	}
+
+	@Test
+	void searchWithoutMatchDoesNotFillCache() {
+		final HolidaySet empty = new HolidaySet(List.of());
+		final HolidayCalendar filtered = bankHolidays.withCategories("shutdown");
+		final LocalDate date = LocalDate.of(2024, 6, 1);
+
+		assertThat(empty.next(date)).isEmpty();
+		assertThat(empty.previous(date)).isEmpty();
+		assertThat(filtered.next(date)).isEmpty();
+		assertThat(filtered.previous(date)).isEmpty();
+		assertThat(filtered.nextN(date, 3)).isEmpty();
+
+		assertThat(empty.cachedYears()).isEqualTo(1);
+		assertThat(bankHolidays.cachedYears()).isEqualTo(1);
+	}
+
+	@Test
+	void configurationFilesMatchConcatenatedDefinitions() throws IOException {
+		final Map<String, List<Holiday>> regions = new HolidaysLoader().load(Paths.get("holidays")).getHolidays();
+		final List<Holiday> first = regions.get("Bavaria");
+		for (final Map.Entry<String, List<Holiday>> region : regions.entrySet()) {
+			final List<Holiday> concatenated = new ArrayList<>(first);
+			region.getValue().stream().filter(holiday -> !first.contains(holiday)).forEach(concatenated::add);
+			assertThat(new HolidaySet(first).union(new HolidaySet(region.getValue())).instances(FROM, TO))
+					.as(region.getKey())
+					.isEqualTo(new HolidaySet(concatenated).instances(FROM, TO));
+		}
+	}
+}
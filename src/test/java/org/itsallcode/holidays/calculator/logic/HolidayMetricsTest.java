@@ -0,0 +1,143 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.*;
+
+import org.itsallcode.holidays.calculator.logic.cache.YearCacheBuilder;
+import org.itsallcode.holidays.calculator.logic.metrics.HolidayMetrics;
+import org.itsallcode.holidays.calculator.logic.parser.HolidayParser;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysLoader;
+import org.itsallcode.holidays.calculator.logic.variants.EasterBasedHoliday;
+import org.itsallcode.holidays.calculator.logic.variants.FixedDateHoliday;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HolidayMetricsTest {
+
+	private static final String CONTENT = "# comment\nholiday fixed 1 1 New Year\nillegal\nholiday easter -2 Good Friday\n";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void parseStream() throws IOException {
+		final RecordingMetrics metrics = new RecordingMetrics();
+		new HolidaysFileParser("stream", new HolidayParser())
+				.withMetrics(metrics)
+				.parse(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)));
+		assertThat(metrics.events).containsExactly("fileParsed stream 4 1");
+	}
+
+	@Test
+	void parseFile() throws IOException {
+		final Path file = Files.write(tempDir.resolve("holidays.cfg"), CONTENT.getBytes(StandardCharsets.UTF_8));
+		final RecordingMetrics metrics = new RecordingMetrics();
+		new HolidaysFileParser("file").withMetrics(metrics).parse(file);
+		assertThat(metrics.events).containsExactly("fileParsed file 4 1");
+	}
+
+	@Test
+	void cacheHitsMissesAndYearComputation() {
+		final RecordingMetrics metrics = new RecordingMetrics();
+		final HolidaySet holidaySet = new HolidaySet(List.of(
+				new FixedDateHoliday("holiday", "New Year", MonthDay.of(1, 1)),
+				new FixedDateHoliday("holiday", "Christmas", MonthDay.of(12, 25)),
+				new EasterBasedHoliday("holiday", "Good Friday", -2)), new YearCacheBuilder(), metrics);
+
+		holidaySet.instances(LocalDate.of(2024, 1, 1));
+		holidaySet.instances(LocalDate.of(2024, 12, 25));
+		assertThat(metrics.events).containsExactly(
+				"variantEvaluated 2024 FixedDateHoliday 2",
+				"variantEvaluated 2024 EasterBasedHoliday 1",
+				"yearComputed 2024 3",
+				"cacheMiss 2024",
+				"cacheHit 2024");
+	}
+
+	@Test
+	void precompute() {
+		final RecordingMetrics metrics = new RecordingMetrics();
+		final List<Holiday> definitions = List.of(new FixedDateHoliday("holiday", "New Year", MonthDay.of(1, 1)));
+		final HolidaySet holidaySet = new HolidaySet(definitions, new YearCacheBuilder(), metrics);
+		holidaySet.precompute(2020, 2021);
+		holidaySet.instances(LocalDate.of(2021, 1, 1));
+		assertThat(metrics.events).contains("yearComputed 2020 1", "yearComputed 2021 1", "cacheHit 2021")
+				.doesNotContain("cacheMiss 2021");
+	}
+
+	@Test
+	void uncachedYearsAreNotReported() {
+		final RecordingMetrics metrics = new RecordingMetrics();
+		final HolidaySet holidaySet = new HolidaySet(List.of(), new YearCacheBuilder(), metrics);
+		assertThat(holidaySet.next(LocalDate.of(2024, 6, 1))).isEmpty();
+		assertThat(new BusinessCalendar(holidaySet).businessDaysBetween(LocalDate.of(2024, 6, 1),
+				LocalDate.of(2030, 6, 1))).isPositive();
+		assertThat(metrics.events.stream().filter(event -> event.startsWith("yearComputed")).toList())
+				.containsExactly("yearComputed 2024 0", "yearComputed 2030 0");
+	}
+
+	@Test
+	void metricsDoNotChangeEvaluation() throws IOException {
+		final Map<String, List<Holiday>> regions = new HolidaysLoader().load(Paths.get("holidays")).getHolidays();
+		for (final Map.Entry<String, List<Holiday>> region : regions.entrySet()) {
+			final EvaluationPlan plan = EvaluationPlan.compile(region.getValue().toArray(new Holiday[0]));
+			for (int year = 1990; year <= 2030; year++) {
+				final RecordingMetrics metrics = new RecordingMetrics();
+				final YearInstances timed = YearInstances.compute(year, plan, metrics);
+				final YearInstances untimed = YearInstances.compute(year, plan);
+				final long first = EpochDays.of(year, 1, 1);
+				final long last = EpochDays.of(year, 12, 31);
+				assertThat(timed.stream(first, last).toList()).as(region.getKey())
+						.isEqualTo(untimed.stream(first, last).toList());
+				assertThat(metrics.variantCount).isEqualTo(region.getValue().size());
+				assertThat(metrics.events).contains("yearComputed " + year + " " + region.getValue().size());
+			}
+		}
+	}
+
+	private static class RecordingMetrics implements HolidayMetrics {
+		final List<String> events = Collections.synchronizedList(new ArrayList<>());
+		int variantCount = 0;
+
+		@Override
+		public void fileParsed(final String identifier, final int lines, final int errors, final long nanos) {
+			assertThat(nanos).isNotNegative();
+			events.add("fileParsed " + identifier + " " + lines + " " + errors);
+		}
+
+		@Override
+		public void cacheHit(final int year) {
+			events.add("cacheHit " + year);
+		}
+
+		@Override
+		public void cacheMiss(final int year) {
+			events.add("cacheMiss " + year);
+		}
+
+		@Override
+		public void yearComputed(final int year, final int definitions, final long nanos) {
+			assertThat(nanos).isNotNegative();
+			events.add("yearComputed " + year + " " + definitions);
+		}
+
+		@Override
+		public void variantEvaluated(final int year, final Class<? extends Holiday> variant, final int count,
+				final long nanos) {
+			assertThat(nanos).isNotNegative();
+			events.add("variantEvaluated " + year + " " + variant.getSimpleName() + " " + count);
+			variantCount += count;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.itsallcode.holidays.calculator.logic.parser.HolidayParser;
+import org.itsallcode.holidays.calculator.logic.parser.HolidayParser.Strategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Verifies that both strategies of {@link HolidayParser} produce identical
+ * results.
+ */
+class HolidayParserStrategyTest {
+
+	private static final String[] KEYWORDS = { "fixed", "float", "easter", "orthodox-easter", "if", "either",
+			"Fixed" };
+	private static final String[] VOCABULARY = {
+			"holiday", "fixed", "float", "easter", "orthodox-easter", "if", "either", "or", "is", "not", "then",
+			"day", "days", "DAYS", "before", "AFTER", "last-day", "LAST-DAY", "Jan", "dec", "Mar", "ju", "t",
+			"sun", "SAT", "mo,fr", "sat,sun", "0", "00", "1", "01", "9", "09", "10", "12", "13", "29", "31", "32",
+			"+1", "-48", "+100", "-", "3x", "Name", "1.", "\t", "  ", "ä", " ", "ſ" };
+
+	private final HolidayParser tokenizer = new HolidayParser(Strategy.TOKENIZER);
+	private final HolidayParser regex = new HolidayParser(Strategy.REGULAR_EXPRESSIONS);
+
+	@Test
+	void configurationFiles() throws IOException {
+		final List<String> lines = new ArrayList<>();
+		try (Stream<Path> files = Files.list(Paths.get("holidays"))) {
+			for (final Path file : files.filter(f -> f.toString().endsWith(".cfg")).toList()) {
+				lines.addAll(Files.readAllLines(file, StandardCharsets.UTF_8));
+			}
+		}
+		assertThat(lines.size()).isGreaterThan(100);
+		for (final String line : lines) {
+			final String withoutComment = line.replaceFirst("#.*", "");
+			assertSameResult(withoutComment);
+			assertSameResult(withoutComment.toUpperCase());
+			assertSameResult(withoutComment.replace(" ", " \t "));
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"", "holiday", "holiday fixed", "holiday fixed 1 1", "holiday fixed 1 1 ", "holiday fixed 1 1 A",
+			"holiday FIXED jan 01 New Year", "holiday fixed 13 1 Illegal month", "holiday fixed 1 32 Illegal day",
+			"holiday fixed 2 30 Illegal date", "holiday fixed t 1 Ambiguous month", "holiday fixed xyz 1 Unknown",
+			"holiday float 1 SUN after 11 last-day Last", "holiday float 1 SUN after 11 LAST-DAY Last",
+			"holiday float 1 day before 1 WED after 6 1 Offset", "holiday float 12 days after 1 T after 6 1 X",
+			"holiday easter +1", "holiday easter +1 Name more", "holiday easter 100 Name",
+			"holiday orthodox-easter -0 Name", "holiday if Jan 1 is Sat,Sun then fixed Jan 3 X",
+			"holiday if Jan 1 is not Sat then fixed Jan 3 X", "holiday either 4 27 or if not sun then fixed 4 26 X",
+			"holiday either 4 27 or if sun then fixed 4 26 X", "x  fixed 1 1 Unicode category",
+			"holiday fixed 1 1 Name with # hash", "holiday\u000Bfixed\f1\r1\tName" })
+	void specialCases(final String line) {
+		assertSameResult(line);
+	}
+
+	@Test
+	void randomLines() {
+		final Random random = new Random(4711);
+		for (int i = 0; i < 50_000; i++) {
+			final StringBuilder line = new StringBuilder(random.nextBoolean() ? "holiday " : "h ")
+					.append(KEYWORDS[random.nextInt(KEYWORDS.length)]);
+			final int words = 1 + random.nextInt(12);
+			for (int w = 0; w < words; w++) {
+				line.append(random.nextInt(8) == 0 ? "\t" : " ");
+				line.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+			}
+			assertSameResult(line.toString());
+		}
+	}
+
+	private void assertSameResult(final String line) {
+		assertThat(result(tokenizer, line)).as("Line <%s>", line).isEqualTo(result(regex, line));
+	}
+
+	private static Object result(final HolidayParser parser, final String line) {
+		try {
+			return parser.parse(line);
+		} catch (final RuntimeException e) {
+			return e.getClass().getName() + ": " + e.getMessage();
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.List;
+import java.util.Map;
+
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysLoader;
+import org.itsallcode.holidays.calculator.logic.variants.EasterBasedHoliday;
+import org.itsallcode.holidays.calculator.logic.variants.FixedDateHoliday;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.junit.jupiter.api.Test;
+
+class HolidayRegistryTest {
+
+	private static final LocalDate FROM = LocalDate.of(2000, 1, 1);
+	private static final LocalDate TO = LocalDate.of(2030, 12, 31);
+
+	@Test
+	void configurationFilesMatchHolidaySets() throws IOException {
+		final Map<String, List<Holiday>> regions = new HolidaysLoader().load(Paths.get("holidays")).getHolidays();
+		final HolidayRegistry registry = new HolidayRegistry(regions);
+
+		assertThat(registry.getRegions()).containsExactlyElementsOf(regions.keySet());
+		final int definitions = regions.values().stream().mapToInt(List::size).sum();
+		assertThat(registry.getRuleCount()).isLessThan(definitions);
+
+		for (final Map.Entry<String, List<Holiday>> region : regions.entrySet()) {
+			final HolidaySet holidaySet = new HolidaySet(region.getValue());
+			assertThat(registry.instances(region.getKey(), FROM, TO)).as(region.getKey())
+					.isEqualTo(holidaySet.instances(FROM, TO));
+			for (LocalDate date = LocalDate.of(2024, 1, 1); date.getYear() == 2024; date = date.plusDays(1)) {
+				assertThat(registry.instances(region.getKey(), date)).isEqualTo(holidaySet.instances(date));
+			}
+		}
+	}
+
+	@Test
+	void sharedRules() {
+		final Holiday christmas = new FixedDateHoliday("holiday", "Christmas Day", MonthDay.of(12, 25));
+		final Holiday weihnachten = new FixedDateHoliday("holiday", "1. Weihnachtstag", MonthDay.of(12, 25));
+		final Holiday christtag = new FixedDateHoliday("holiday", "Christtag", MonthDay.of(12, 25));
+		final Holiday goodFriday = new EasterBasedHoliday("holiday", "Good Friday", -2);
+		final Holiday karfreitag = new EasterBasedHoliday("holiday", "Karfreitag", -2);
+		final HolidayRegistry registry = new HolidayRegistry(Map.of(
+				"UK", List.of(goodFriday, christmas),
+				"Germany", List.of(weihnachten, christtag, karfreitag)));
+
+		assertThat(registry.getRuleCount()).isEqualTo(2);
+		final List<Holiday> germany = registry.instances("Germany", LocalDate.of(2024, 12, 25));
+		assertThat(germany).containsExactly(weihnachten, christtag);
+		assertThat(germany.get(0)).isSameAs(weihnachten);
+		assertThat(registry.instances("UK", LocalDate.of(2024, 3, 29))).containsExactly(goodFriday);
+		assertThat(registry.instances("UK", LocalDate.of(2024, 3, 30))).isEmpty();
+
+		registry.instances("UK", LocalDate.of(2024, 1, 1));
+		registry.instances("Germany", LocalDate.of(2024, 1, 1));
+		assertThat(registry.getCacheStatistics().getMisses()).isEqualTo(1L);
+	}
+
+	@Test
+	void unknownRegion() {
+		final HolidayRegistry registry = new HolidayRegistry(Map.of("UK", List.of()));
+		final LocalDate date = LocalDate.of(2024, 1, 1);
+		assertThrows(IllegalArgumentException.class, () -> registry.instances("Atlantis", date));
+	}
+
+	@Test
+	void illegalRange() {
+		final HolidayRegistry registry = new HolidayRegistry(Map.of("UK", List.of()));
+		assertThrows(IllegalArgumentException.class, () -> registry.instances("UK", TO, FROM));
+	}
+}
@@ -0,0 +1,187 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.itsallcode.holidays.calculator.logic.ConcurrentTasks.runConcurrently;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.itsallcode.holidays.calculator.logic.cache.YearCacheBuilder;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.variants.FixedDateHoliday;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.junit.jupiter.api.Test;
+
+class HolidaySetConcurrencyTest {
+
+	@Test
+	void newYearRolloverComputesYearOnlyOnce() throws Exception {
+		final CountingHoliday newYear = new CountingHoliday("New Year", MonthDay.of(1, 1));
+		final HolidaySet holidaySet = new HolidaySet(List.of(newYear), new YearCacheBuilder().concurrent());
+		final LocalDate date = LocalDate.of(2022, 1, 1);
+
+		final List<List<Holiday>> results = runConcurrently(() -> holidaySet.instances(date));
+
+		assertThat(newYear.invocations(2022)).isEqualTo(1);
+		for (final List<Holiday> result : results) {
+			assertThat(result).containsExactly(newYear);
+		}
+	}
+
+	@Test
+	void concurrentReadsMatchSequentialResults() throws Exception {
+		final List<Holiday> definitions = readBavarianHolidays();
+		final HolidaySet expected = new HolidaySet(definitions);
+		final HolidaySet actual = new HolidaySet(definitions, new YearCacheBuilder().concurrent());
+		final LocalDate first = LocalDate.of(2000, 1, 1);
+
+		runConcurrently(() -> {
+			final ThreadLocalRandom random = ThreadLocalRandom.current();
+			for (int i = 0; i < 20_000; i++) {
+				final LocalDate date = first.plusDays(random.nextInt(100 * 365));
+				final List<Holiday> instances = actual.instances(date);
+				synchronized (expected) {
+					assertThat(instances).isEqualTo(expected.instances(date));
+				}
+			}
+			return null;
+		});
+	}
+
+	@Test
+	void everyYearIsComputedOnceUnderContention() throws Exception {
+		final CountingHoliday holiday = new CountingHoliday("Holiday", MonthDay.of(6, 1));
+		final HolidaySet holidaySet = new HolidaySet(List.of(holiday), new YearCacheBuilder().concurrent());
+
+		runConcurrently(() -> {
+			for (int year = 2000; year < 2100; year++) {
+				assertThat(holidaySet.instances(LocalDate.of(year, 6, 1))).containsExactly(holiday);
+			}
+			return null;
+		});
+
+		for (int year = 2000; year < 2100; year++) {
+			assertThat(holiday.invocations(year)).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void precomputedYearsAreNotComputedAgain() {
+		final CountingHoliday newYear = new CountingHoliday("New Year", MonthDay.of(1, 1));
+		final HolidaySet holidaySet = new HolidaySet(List.of(newYear));
+
+		final Duration duration = holidaySet.precompute(1900, 2099);
+
+		assertThat(duration.isNegative()).isFalse();
+		for (int year = 1900; year <= 2099; year++) {
+			assertThat(holidaySet.instances(LocalDate.of(year, 1, 1))).containsExactly(newYear);
+			assertThat(newYear.invocations(year)).isEqualTo(1);
+		}
+		assertThat(holidaySet.getCacheStatistics().getMisses()).isEqualTo(0L);
+		assertThat(holidaySet.getCacheStatistics().getHits()).isEqualTo(200L);
+	}
+
+	@Test
+	void precomputeAsynchronously() throws Exception {
+		final CountingHoliday newYear = new CountingHoliday("New Year", MonthDay.of(1, 1));
+		final HolidaySet holidaySet = new HolidaySet(List.of(newYear), new YearCacheBuilder().concurrent());
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final Duration duration = holidaySet.precomputeAsync(1900, 2099, executor).get(60, TimeUnit.SECONDS);
+			assertThat(duration.isNegative()).isFalse();
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for (int year = 1900; year <= 2099; year++) {
+			assertThat(holidaySet.instances(LocalDate.of(year, 1, 1))).containsExactly(newYear);
+			assertThat(newYear.invocations(year)).isEqualTo(1);
+		}
+		assertThat(holidaySet.getCacheStatistics().getMisses()).isEqualTo(0L);
+	}
+
+	@Test
+	void precomputeSkipsCachedYears() {
+		final CountingHoliday newYear = new CountingHoliday("New Year", MonthDay.of(1, 1));
+		final HolidaySet holidaySet = new HolidaySet(List.of(newYear), new YearCacheBuilder().withMaximumSize(20));
+		holidaySet.instances(LocalDate.of(2000, 1, 1));
+		holidaySet.instances(LocalDate.of(2001, 1, 1));
+
+		holidaySet.precompute(1995, 2005);
+
+		for (int year = 1995; year <= 2005; year++) {
+			assertThat(newYear.invocations(year)).isEqualTo(1);
+			assertThat(holidaySet.instances(LocalDate.of(year, 1, 1))).containsExactly(newYear);
+		}
+		assertThat(holidaySet.getCacheStatistics().getMisses()).isEqualTo(2L);
+		assertThat(holidaySet.getCacheStatistics().getHits()).isEqualTo(11L);
+		assertThat(holidaySet.getCacheStatistics().getEvictions()).isZero();
+	}
+
+	@Test
+	void precomputeAsynchronouslySkipsCachedYears() throws Exception {
+		final CountingHoliday newYear = new CountingHoliday("New Year", MonthDay.of(1, 1));
+		final HolidaySet holidaySet = new HolidaySet(List.of(newYear), new YearCacheBuilder().concurrent());
+		holidaySet.instances(LocalDate.of(2000, 1, 1));
+
+		holidaySet.precomputeAsync(1995, 2005, Runnable::run).get(60, TimeUnit.SECONDS);
+
+		for (int year = 1995; year <= 2005; year++) {
+			assertThat(newYear.invocations(year)).isEqualTo(1);
+			assertThat(holidaySet.instances(LocalDate.of(year, 1, 1))).containsExactly(newYear);
+		}
+		assertThat(holidaySet.getCacheStatistics().getMisses()).isEqualTo(1L);
+		assertThat(holidaySet.getCacheStatistics().getHits()).isEqualTo(11L);
+	}
+
+	@Test
+	void illegalRangeOfYearsToPrecompute() {
+		final HolidaySet holidaySet = new HolidaySet(List.of());
+		final Executor executor = Runnable::run;
+		assertThrows(IllegalArgumentException.class, () -> holidaySet.precompute(2001, 2000));
+		assertThrows(IllegalArgumentException.class, () -> holidaySet.precomputeAsync(2001, 2000, executor));
+	}
+
+	@Test
+	void instancesAreImmutable() {
+		final Holiday newYear = new FixedDateHoliday("holiday", "New Year", MonthDay.of(1, 1));
+		final HolidaySet holidaySet = new HolidaySet(List.of(newYear), new YearCacheBuilder().concurrent());
+		final List<Holiday> instances = holidaySet.instances(LocalDate.of(2022, 1, 1));
+		assertThrows(UnsupportedOperationException.class, () -> instances.add(newYear));
+	}
+
+	private static List<Holiday> readBavarianHolidays() throws IOException {
+		final HolidaysFileParser parser = new HolidaysFileParser("bavaria.txt");
+		return parser.parse(HolidaySetConcurrencyTest.class.getResourceAsStream("bavaria.txt"));
+	}
+
+	private static class CountingHoliday extends FixedDateHoliday {
+		private final Map<Integer, AtomicInteger> invocations = new ConcurrentHashMap<>();
+
+		CountingHoliday(final String name, final MonthDay monthDay) {
+			super("holiday", name, monthDay);
+		}
+
+		@Override
+		public long epochDayOf(final int year) {
+			invocations.computeIfAbsent(year, y -> new AtomicInteger()).incrementAndGet();
+			try {
+				// widen the window for concurrent requests of the same year
+				Thread.sleep(1);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return super.epochDayOf(year);
+		}
+
+		int invocations(final int year) {
+			return invocations.getOrDefault(year, new AtomicInteger()).get();
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package org.itsallcode.holidays.calculator.logic;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -8,9 +9,13 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.MonthDay;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Optional;
 
+import org.itsallcode.holidays.calculator.logic.cache.CacheStatistics;
+import org.itsallcode.holidays.calculator.logic.cache.YearCacheBuilder;
 import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
 import org.itsallcode.holidays.calculator.logic.variants.EasterBasedHoliday;
 import org.itsallcode.holidays.calculator.logic.variants.FixedDateHoliday;
@@ -19,6 +24,8 @@ import org.itsallcode.holidays.calculator.logic.variants.Holiday;
 import org.itsallcode.holidays.calculator.logic.variants.FloatingHoliday.Direction;
 import org.junit.jupiter.api.Test;
 
+import nl.jqno.equalsverifier.EqualsVerifier;
+
 class HolidaySetTest {
 
 	@Test
@@ -79,6 +86,260 @@ class HolidaySetTest {
 		assertHolidays(year, month, expected);
 	}
 
+	@Test
+	void rangeOfDates() throws IOException {
+		final List<HolidayInstance> actual = readBavarianHolidays()
+				.instances(LocalDate.of(2021, 4, 2), LocalDate.of(2021, 5, 23));
+		assertThat(actual.stream().map(i -> i.getDate().toString() + " " + i.getHoliday().getName()).toList())
+				.containsExactly(
+						"2021-04-02 Karfreitag",
+						"2021-04-04 Ostersonntag",
+						"2021-04-05 Ostermontag",
+						"2021-05-01 1. Mai",
+						"2021-05-13 Christi Himmelfahrt",
+						"2021-05-23 Pfingstsonntag");
+	}
+
+	@Test
+	void rangeOfDatesMatchesLookupOfEachDay() throws IOException {
+		final HolidaySet holidaySet = readBavarianHolidays();
+		final LocalDate from = LocalDate.of(2019, 11, 15);
+		final LocalDate to = LocalDate.of(2031, 2, 10);
+
+		final List<HolidayInstance> expected = new ArrayList<>();
+		for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+			for (final Holiday holiday : holidaySet.instances(date)) {
+				expected.add(new HolidayInstance(date, holiday));
+			}
+		}
+
+		assertThat(holidaySet.instances(from, to)).isEqualTo(expected);
+		assertThat(holidaySet.stream(from, to).toList()).isEqualTo(expected);
+	}
+
+	@Test
+	void rangeOfSingleDate() throws IOException {
+		final LocalDate date = LocalDate.of(2021, 12, 25);
+		assertThat(readBavarianHolidays().instances(date, date)).containsExactly(new HolidayInstance(date,
+				new FixedDateHoliday("holiday", "1. Weihnachtstag", MonthDay.of(12, 25))));
+	}
+
+	@Test
+	void illegalRangeOfDates() throws IOException {
+		final HolidaySet holidaySet = readBavarianHolidays();
+		final LocalDate from = LocalDate.of(2021, 12, 25);
+		final LocalDate to = from.minusDays(1);
+		assertThrows(IllegalArgumentException.class, () -> holidaySet.instances(from, to));
+	}
+
+	@Test
+	void nextHolidayOnSameDate() throws IOException {
+		final LocalDate date = LocalDate.of(2021, 12, 25);
+		assertThat(readBavarianHolidays().next(date).map(HolidayInstance::getDate)).contains(date);
+	}
+
+	@Test
+	void nextHolidayInFollowingYear() throws IOException {
+		final Optional<HolidayInstance> next = readBavarianHolidays().next(LocalDate.of(2021, 12, 27));
+		assertThat(next.map(HolidayInstance::getDate)).contains(LocalDate.of(2022, 1, 1));
+		assertThat(next.map(i -> i.getHoliday().getName())).contains("Neujahr");
+	}
+
+	@Test
+	void nextHolidaysAcrossYears() throws IOException {
+		final List<HolidayInstance> actual = readBavarianHolidays().nextN(LocalDate.of(2021, 12, 20), 4);
+		assertThat(actual.stream().map(i -> i.getDate().toString() + " " + i.getHoliday().getName()).toList())
+				.containsExactly(
+						"2021-12-25 1. Weihnachtstag",
+						"2021-12-26 2. Weihnachtstag",
+						"2022-01-01 Neujahr",
+						"2022-01-06 Heilige Drei Könige");
+	}
+
+	@Test
+	void nextHolidaysMatchRangeOfDates() throws IOException {
+		final HolidaySet holidaySet = readBavarianHolidays();
+		final LocalDate from = LocalDate.of(2019, 11, 15);
+		final List<HolidayInstance> expected = holidaySet.instances(from, LocalDate.of(2031, 2, 10));
+		assertThat(holidaySet.nextN(from, expected.size())).isEqualTo(expected);
+	}
+
+	@Test
+	void nextZeroHolidays() throws IOException {
+		assertThat(readBavarianHolidays().nextN(LocalDate.of(2021, 12, 20), 0)).isEmpty();
+	}
+
+	@Test
+	void illegalNumberOfNextHolidays() throws IOException {
+		final HolidaySet holidaySet = readBavarianHolidays();
+		final LocalDate date = LocalDate.of(2021, 12, 20);
+		assertThrows(IllegalArgumentException.class, () -> holidaySet.nextN(date, -1));
+	}
+
+	@Test
+	void previousHolidayBeforeDate() throws IOException {
+		final Optional<HolidayInstance> previous = readBavarianHolidays().previous(LocalDate.of(2021, 12, 25));
+		assertThat(previous.map(HolidayInstance::getDate)).contains(LocalDate.of(2021, 12, 19));
+		assertThat(previous.map(i -> i.getHoliday().getName())).contains("4. Advent");
+	}
+
+	@Test
+	void previousHolidayInPrecedingYear() throws IOException {
+		final Optional<HolidayInstance> previous = readBavarianHolidays().previous(LocalDate.of(2022, 1, 1));
+		assertThat(previous.map(HolidayInstance::getDate)).contains(LocalDate.of(2021, 12, 26));
+	}
+
+	@Test
+	void previousHolidayMatchesLookupOfEachDay() throws IOException {
+		final HolidaySet holidaySet = readBavarianHolidays();
+		LocalDate expected = null;
+		for (LocalDate date = LocalDate.of(2019, 1, 2); date.getYear() < 2023; date = date.plusDays(1)) {
+			final List<Holiday> yesterday = holidaySet.instances(date.minusDays(1));
+			if (!yesterday.isEmpty()) {
+				expected = date.minusDays(1);
+			}
+			assertThat(holidaySet.previous(date).map(HolidayInstance::getDate)).contains(expected);
+		}
+	}
+
+	@Test
+	void noNextOrPreviousHolidayInEmptySet() {
+		final HolidaySet holidaySet = new HolidaySet(List.of());
+		final LocalDate date = LocalDate.of(2021, 12, 20);
+		assertThat(holidaySet.next(date)).isEmpty();
+		assertThat(holidaySet.previous(date)).isEmpty();
+		assertThat(holidaySet.nextN(date, 3)).isEmpty();
+	}
+
+	@Test
+	void holidayInstanceEquals() {
+		EqualsVerifier.simple().forClass(HolidayInstance.class).verify();
+	}
+
+	@Test
+	void instancesAreImmutableViews() {
+		final Holiday first = new FixedDateHoliday("holiday", "First", MonthDay.of(12, 31));
+		final Holiday second = new FixedDateHoliday("holiday", "Second", MonthDay.of(12, 31));
+		final Holiday other = new FixedDateHoliday("holiday", "Other", MonthDay.of(1, 1));
+		final HolidaySet holidaySet = new HolidaySet(List.of(second, other, first));
+
+		final List<Holiday> instances = holidaySet.instances(LocalDate.of(2024, 12, 31));
+		assertThat(instances).containsExactly(second, first);
+		assertThat(instances.get(1)).isSameAs(first);
+		assertThrows(UnsupportedOperationException.class, () -> instances.add(other));
+		assertThrows(UnsupportedOperationException.class, () -> instances.remove(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> instances.get(2));
+	}
+
+	@Test
+	void categoryQueries() {
+		final Holiday christmas = new FixedDateHoliday("holiday", "Christmas", MonthDay.of(12, 25));
+		final Holiday birthday = new FixedDateHoliday("birthday", "Birthday", MonthDay.of(12, 25));
+		final Holiday party = new FixedDateHoliday("company", "Party", MonthDay.of(12, 20));
+		final Holiday boxingDay = new FixedDateHoliday("holiday", "Boxing Day", MonthDay.of(12, 26));
+		final HolidaySet holidaySet = new HolidaySet(List.of(birthday, christmas, party, boxingDay));
+
+		final LocalDate date = LocalDate.of(2024, 12, 25);
+		assertThat(holidaySet.instances(date, "holiday")).containsExactly(christmas);
+		assertThat(holidaySet.instances(date, "birthday")).containsExactly(birthday);
+		assertThat(holidaySet.instances(date, "company")).isEmpty();
+		assertThat(holidaySet.instances(date, "unknown")).isEmpty();
+		assertThat(holidaySet.isHoliday(date, "holiday")).isTrue();
+		assertThat(holidaySet.isHoliday(LocalDate.of(2024, 12, 20), "holiday")).isFalse();
+		assertThat(holidaySet.isHoliday(LocalDate.of(2024, 12, 20), "company")).isTrue();
+		assertThat(holidaySet.isHoliday(date, "unknown")).isFalse();
+		assertThat(holidaySet.instances(LocalDate.of(2023, 12, 26), LocalDate.of(2024, 12, 26), "holiday"))
+				.containsExactly(new HolidayInstance(LocalDate.of(2023, 12, 26), boxingDay),
+						new HolidayInstance(date, christmas),
+						new HolidayInstance(LocalDate.of(2024, 12, 26), boxingDay));
+		assertThat(holidaySet.instances(date, date, "unknown")).isEmpty();
+	}
+
+	@Test
+	void categoryQueriesMatchFilteredInstances() throws IOException {
+		final List<Holiday> definitions = new ArrayList<>(readBavarianHolidays().getDefinitions());
+		definitions.add(new FixedDateHoliday("birthday", "Birthday", MonthDay.of(1, 6)));
+		definitions.add(new EasterBasedHoliday("company", "Outing", 1));
+		final HolidaySet holidaySet = new HolidaySet(definitions);
+		final LocalDate from = LocalDate.of(2020, 1, 1);
+		final LocalDate to = LocalDate.of(2025, 12, 31);
+
+		for (final String category : List.of("holiday", "birthday", "company")) {
+			assertThat(holidaySet.instances(from, to, category)).as(category)
+					.isEqualTo(holidaySet.instances(from, to).stream()
+							.filter(instance -> instance.getHoliday().getCategory().equals(category))
+							.toList());
+			for (LocalDate date = from; date.getYear() == 2020; date = date.plusDays(1)) {
+				final List<Holiday> expected = holidaySet.instances(date).stream()
+						.filter(holiday -> holiday.getCategory().equals(category))
+						.toList();
+				assertThat(holidaySet.instances(date, category)).isEqualTo(expected);
+				assertThat(holidaySet.isHoliday(date, category)).isEqualTo(!expected.isEmpty());
+			}
+		}
+	}
+
+	@Test
+	void occurrencesOfNamedHoliday() throws IOException {
+		final HolidaySet holidaySet = readBavarianHolidays();
+		final Holiday easterMonday = new EasterBasedHoliday("holiday", "Ostermontag", +1);
+		assertThat(holidaySet.findDefinitions("Ostermontag")).containsExactly(easterMonday);
+		assertThat(holidaySet.findDefinitions("unknown")).isEmpty();
+		assertThat(holidaySet.occurrences("Ostermontag", 2021, 2022)).containsExactly(
+				new HolidayInstance(LocalDate.of(2021, 4, 5), easterMonday),
+				new HolidayInstance(LocalDate.of(2022, 4, 18), easterMonday));
+		assertThat(holidaySet.occurrences("birthday", "Ostermontag", 2021, 2022)).isEmpty();
+		assertThat(holidaySet.occurrences("unknown", 2021, 2022)).isEmpty();
+		assertThat(holidaySet.getCacheStatistics().getMisses()).isZero();
+		assertThrows(IllegalArgumentException.class, () -> holidaySet.occurrences("Ostermontag", 2022, 2021));
+	}
+
+	@Test
+	void occurrencesMatchFilteredInstances() throws IOException {
+		final List<Holiday> definitions = new ArrayList<>(readBavarianHolidays().getDefinitions());
+		definitions.add(new FixedDateHoliday("birthday", "Ostermontag", MonthDay.of(4, 5)));
+		// three days before the first Monday in January, in the previous year if
+		// January 1st is a Monday, Tuesday or Wednesday
+		final Holiday crossingYear = new FloatingHoliday("holiday", "Crossing", 1, DayOfWeek.MONDAY,
+				Direction.AFTER, MonthDay.of(1, 1)).withOffsetInDays(-3);
+		definitions.add(crossingYear);
+		final HolidaySet holidaySet = new HolidaySet(definitions);
+		assertThat(holidaySet.occurrences("Crossing", 2023, 2026)).containsExactly(
+				new HolidayInstance(LocalDate.of(2025, 1, 3), crossingYear),
+				new HolidayInstance(LocalDate.of(2026, 1, 2), crossingYear));
+		final LocalDate from = LocalDate.of(2000, 1, 1);
+		final LocalDate to = LocalDate.of(2030, 12, 31);
+
+		for (final Holiday definition : definitions) {
+			final String name = definition.getName();
+			assertThat(holidaySet.occurrences(name, 2000, 2030)).as(name)
+					.isEqualTo(holidaySet.instances(from, to).stream()
+							.filter(instance -> instance.getHoliday().getName().equals(name))
+							.toList());
+			assertThat(holidaySet.occurrences("holiday", name, 2000, 2030)).as(name)
+					.isEqualTo(holidaySet.instances(from, to, "holiday").stream()
+							.filter(instance -> instance.getHoliday().getName().equals(name))
+							.toList());
+		}
+	}
+
+	@Test
+	void boundedCache() throws IOException {
+		final HolidaysFileParser parser = new HolidaysFileParser("bavaria.txt");
+		final List<Holiday> list = parser.parse(HolidaySetTest.class.getResourceAsStream("bavaria.txt"));
+		final HolidaySet holidaySet = new HolidaySet(list, new YearCacheBuilder().withMaximumSize(2));
+
+		for (int year = 2020; year <= 2024; year++) {
+			assertThat(holidaySet.instances(LocalDate.of(year, 10, 3))).hasSize(1);
+		}
+		assertThat(holidaySet.instances(LocalDate.of(2024, 1, 1))).hasSize(1);
+
+		final CacheStatistics statistics = holidaySet.getCacheStatistics();
+		assertThat(statistics.getHits()).isEqualTo(1L);
+		assertThat(statistics.getMisses()).isEqualTo(5L);
+		assertThat(statistics.getEvictions()).isEqualTo(3L);
+	}
+
 	private void assertHolidays(final int year, final int month, final Hashtable<Integer, String> expected)
 			throws IOException {
 		final HolidaySet service = readBavarianHolidays();
@@ -0,0 +1,81 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.MonthDay;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.variants.FixedDateHoliday;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HolidaysFileParserTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void mappedFileMatchesStream() throws IOException {
+		try (Stream<Path> files = Files.list(Paths.get("holidays"))) {
+			for (final Path file : files.toList()) {
+				assertSameResult(Files.readAllBytes(file));
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"",
+			"\n",
+			"holiday fixed 1 1 New Year",
+			"holiday fixed 1 1 New Year\n",
+			"holiday fixed 1 1 New Year\r\nillegal\r\nholiday fixed 12 24 Christmas Eve\r\n",
+			"holiday fixed 1 1 New Year\rillegal\rholiday fixed 12 24 Christmas Eve",
+			"\r\n\n\r\rillegal\n\r\nillegal # comment",
+			"# comment\n  \t holiday fixed 1 1 New Year   # comment with # hash\n#",
+			"holiday fixed 8 15 Mariä Himmelfahrt\nholiday fixed 1 7 Рождество Христово\nиллегал",
+			"illegal line\nholiday fixed 1 1 New Year " })
+	void lineBoundariesAndComments(final String content) throws IOException {
+		assertSameResult(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void parseFile() throws IOException {
+		final Path file = tempDir.resolve("holidays.cfg");
+		Files.write(file, "# comment\r\nholiday fixed 1 1 New Year # comment\r\nillegal\r\n"
+				.getBytes(StandardCharsets.UTF_8));
+
+		final HolidaysFileParser parser = new HolidaysFileParser(file.toString());
+		assertThat(parser.parse(file)).containsExactly(
+				new FixedDateHoliday("holiday", "New Year", MonthDay.of(1, 1)));
+		assertThat(parser.getErrors()).hasSize(1);
+		assertThat(parser.getErrors().get(0).lineNumber).isEqualTo(3);
+		assertThat(parser.getErrors().get(0).content).isEqualTo("illegal");
+	}
+
+	private void assertSameResult(final byte[] content) throws IOException {
+		final Path file = Files.write(Files.createTempFile(tempDir, "holidays", ".cfg"), content);
+		final HolidaysFileParser expected = new HolidaysFileParser("stream");
+		final HolidaysFileParser actual = new HolidaysFileParser("mapped");
+
+		final List<Holiday> expectedHolidays = expected.parse(new ByteArrayInputStream(content));
+
+		assertThat(actual.parse(file)).isEqualTo(expectedHolidays);
+		assertThat(errors(actual)).isEqualTo(errors(expected));
+	}
+
+	private static List<String> errors(final HolidaysFileParser parser) {
+		return parser.getErrors().stream().map(e -> e.lineNumber + ": " + e.content).toList();
+	}
+}
@@ -0,0 +1,129 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysFileParser;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysLoader;
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysLoader.Result;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HolidaysLoaderTest {
+
+	private static final Path SHIPPED = Paths.get("holidays");
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void loadShippedFiles() throws IOException {
+		final Result result = new HolidaysLoader().load(SHIPPED);
+
+		assertThat(result.getHolidays()).hasSize(24);
+		assertThat(result.getHolidays()).containsKey("Bavaria");
+		for (final Map.Entry<String, List<Holiday>> region : result.getHolidays().entrySet()) {
+			final HolidaysFileParser parser = new HolidaysFileParser(region.getKey());
+			final Path file = SHIPPED.resolve(region.getKey() + ".cfg");
+			assertThat(region.getValue()).isEqualTo(parseSequentially(parser, file));
+			assertThat(lineNumbers(result.getErrors().getOrDefault(region.getKey(), List.of())))
+					.isEqualTo(lineNumbers(parser.getErrors()));
+		}
+	}
+
+	@Test
+	void loadManyFilesInParallel() throws IOException {
+		final byte[] content = Files.readAllBytes(SHIPPED.resolve("UK.cfg"));
+		for (int i = 0; i < 200; i++) {
+			Files.write(tempDir.resolve("tenant-" + i + ".cfg"), content);
+		}
+		final List<Holiday> expected = parseSequentially(new HolidaysFileParser("UK"), SHIPPED.resolve("UK.cfg"));
+
+		final Result result = new HolidaysLoader().withParallelism(8).load(tempDir);
+
+		assertThat(result.getHolidays()).hasSize(200);
+		for (final List<Holiday> holidays : result.getHolidays().values()) {
+			assertThat(holidays).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void errorsPerRegion() throws IOException {
+		write("good.cfg", "holiday fixed 1 1 New Year");
+		write("bad.cfg", "holiday fixed 1 1 New Year\nillegal line\n# comment\nholiday unknown 2 2 X");
+		write("ignored.txt", "illegal line");
+
+		final Result result = new HolidaysLoader().load(tempDir);
+
+		assertThat(result.getHolidays().keySet()).containsExactly("bad", "good");
+		assertThat(result.getHolidays().get("bad")).hasSize(1);
+		assertThat(result.getErrors().keySet()).containsExactly("bad");
+		final List<HolidaysFileParser.Error> errors = result.getErrors().get("bad");
+		assertThat(errors).hasSize(2);
+		assertThat(errors.get(0).lineNumber).isEqualTo(2);
+		assertThat(errors.get(1).content).isEqualTo("holiday unknown 2 2 X");
+	}
+
+	@Test
+	void loadListOfFilesWithSuppliedExecutor() throws IOException {
+		final Path file = write("a.txt", "holiday easter 0 Easter Sunday");
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Result result = new HolidaysLoader().withExecutor(executor).withExtension(".txt")
+					.load(List.of(file, SHIPPED.resolve("Bavaria.cfg")));
+			assertThat(result.getHolidays().keySet()).containsExactly("Bavaria.cfg", "a");
+			assertThat(executor.isShutdown()).isFalse();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void duplicateRegion() throws IOException {
+		final Path file = write("Bavaria.cfg", "holiday fixed 1 1 New Year");
+		final List<Path> files = List.of(file, SHIPPED.resolve("Bavaria.cfg"));
+		final HolidaysLoader loader = new HolidaysLoader();
+		assertThrows(IllegalArgumentException.class, () -> loader.load(files));
+	}
+
+	@Test
+	void missingFile() {
+		final List<Path> files = List.of(tempDir.resolve("missing.cfg"));
+		final HolidaysLoader loader = new HolidaysLoader();
+		assertThrows(NoSuchFileException.class, () -> loader.load(files));
+	}
+
+	@Test
+	void illegalParallelism() {
+		final HolidaysLoader loader = new HolidaysLoader();
+		assertThrows(IllegalArgumentException.class, () -> loader.withParallelism(0));
+	}
+
+	private Path write(final String name, final String content) throws IOException {
+		return Files.write(tempDir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<Holiday> parseSequentially(final HolidaysFileParser parser, final Path file)
+			throws IOException {
+		try (InputStream stream = Files.newInputStream(file)) {
+			return parser.parse(stream);
+		}
+	}
+
+	private static List<Integer> lineNumbers(final List<HolidaysFileParser.Error> errors) {
+		return errors.stream().map(e -> e.lineNumber).toList();
+	}
+}
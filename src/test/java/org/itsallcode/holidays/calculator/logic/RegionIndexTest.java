@@ -0,0 +1,121 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.*;
+
+import org.itsallcode.holidays.calculator.logic.parser.HolidaysLoader;
+import org.itsallcode.holidays.calculator.logic.variants.EasterBasedHoliday;
+import org.itsallcode.holidays.calculator.logic.variants.FixedDateHoliday;
+import org.itsallcode.holidays.calculator.logic.variants.Holiday;
+import org.junit.jupiter.api.Test;
+
+class RegionIndexTest {
+
+	private static final Holiday CHRISTMAS = new FixedDateHoliday("holiday", "Christmas", MonthDay.of(12, 25));
+	private static final Holiday BOXING_DAY = new FixedDateHoliday("holiday", "Boxing Day", MonthDay.of(12, 26));
+	private static final Holiday GOOD_FRIDAY = new EasterBasedHoliday("holiday", "Good Friday", -2);
+	private static final Holiday LABOUR_DAY = new FixedDateHoliday("holiday", "Labour Day", MonthDay.of(5, 1));
+
+	private final RegionIndex index = new HolidayRegistry(Map.of(
+			"Germany", List.of(CHRISTMAS, BOXING_DAY, GOOD_FRIDAY, LABOUR_DAY),
+			"UK", List.of(CHRISTMAS, BOXING_DAY, GOOD_FRIDAY),
+			"US", List.of(CHRISTMAS)))
+			.index(2024, 2025);
+
+	@Test
+	void range() {
+		assertThat(index.getRegions()).containsExactly("Germany", "UK", "US");
+		assertThat(index.getFirstDay()).isEqualTo(LocalDate.of(2024, 1, 1));
+		assertThat(index.getLastDay()).isEqualTo(LocalDate.of(2025, 12, 31));
+	}
+
+	@Test
+	void regionsWithHoliday() {
+		assertThat(index.regionsWithHoliday(LocalDate.of(2024, 12, 25))).containsExactly("Germany", "UK", "US");
+		assertThat(index.regionsWithHoliday(LocalDate.of(2025, 12, 26))).containsExactly("Germany", "UK");
+		assertThat(index.regionsWithHoliday(LocalDate.of(2024, 3, 29))).containsExactly("Germany", "UK");
+		assertThat(index.regionsWithHoliday(LocalDate.of(2024, 5, 1))).containsExactly("Germany");
+		assertThat(index.regionsWithHoliday(LocalDate.of(2024, 5, 2))).isEmpty();
+		assertThat(index.holidayMask(LocalDate.of(2024, 5, 1))).isEqualTo(index.mask(List.of("Germany")));
+	}
+
+	@Test
+	void nextDayWithoutHoliday() {
+		final long all = index.mask(List.of("Germany", "UK", "US"));
+		assertThat(index.nextDayWithoutHoliday(LocalDate.of(2024, 12, 25), all))
+				.contains(LocalDate.of(2024, 12, 27));
+		assertThat(index.nextDayWithoutHoliday(LocalDate.of(2024, 12, 25), index.mask(List.of("US"))))
+				.contains(LocalDate.of(2024, 12, 26));
+		assertThat(index.nextDayWithoutHoliday(LocalDate.of(2024, 12, 24), all))
+				.contains(LocalDate.of(2024, 12, 24));
+		assertThat(index.nextDayWithoutHoliday(LocalDate.of(2025, 12, 25), all)).contains(LocalDate.of(2025, 12, 27));
+	}
+
+	@Test
+	void nextCommonWorkingDay() {
+		final long mask = index.mask(List.of("Germany", "UK"));
+		final Set<DayOfWeek> weekend = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+		// Thursday, Dec 25th and Friday, Dec 26th, 2025 are holidays
+		assertThat(index.nextCommonWorkingDay(LocalDate.of(2025, 12, 25), mask, weekend))
+				.contains(LocalDate.of(2025, 12, 29));
+		assertThat(index.nextCommonWorkingDay(LocalDate.of(2025, 12, 31), mask, weekend))
+				.contains(LocalDate.of(2025, 12, 31));
+		assertThat(index.nextCommonWorkingDay(LocalDate.of(2025, 12, 1), mask, EnumSet.allOf(DayOfWeek.class)))
+				.isEmpty();
+	}
+
+	@Test
+	void dateOutsideOfRange() {
+		final LocalDate date = LocalDate.of(2023, 12, 31);
+		assertThrows(IllegalArgumentException.class, () -> index.holidayMask(date));
+		assertThrows(IllegalArgumentException.class, () -> index.nextDayWithoutHoliday(date, 1L));
+	}
+
+	@Test
+	void unknownRegion() {
+		final List<String> regions = List.of("France");
+		assertThrows(IllegalArgumentException.class, () -> index.mask(regions));
+	}
+
+	@Test
+	void tooManyRegions() {
+		final Map<String, List<Holiday>> regions = new HashMap<>();
+		for (int i = 0; i <= RegionIndex.MAX_REGIONS; i++) {
+			regions.put("region" + i, List.of(CHRISTMAS));
+		}
+		final HolidayRegistry registry = new HolidayRegistry(regions);
+		assertThrows(IllegalArgumentException.class, () -> registry.index(2024, 2024));
+	}
+
+	@Test
+	void invalidRange() {
+		final HolidayRegistry registry = new HolidayRegistry(Map.of("US", List.of(CHRISTMAS)));
+		assertThrows(IllegalArgumentException.class, () -> registry.index(2025, 2024));
+	}
+
+	@Test
+	void configurationFilesMatchHolidaySets() throws IOException {
+		final Map<String, List<Holiday>> regions = new HolidaysLoader().load(Paths.get("holidays")).getHolidays();
+		final RegionIndex regionIndex = new HolidayRegistry(regions).index(2020, 2030);
+		final Map<String, HolidaySet> holidaySets = new TreeMap<>();
+		regions.forEach((name, holidays) -> holidaySets.put(name, new HolidaySet(holidays)));
+
+		for (LocalDate date = regionIndex.getFirstDay(); !date.isAfter(regionIndex.getLastDay()); date = date
+				.plusDays(1)) {
+			final SortedSet<String> expected = new TreeSet<>();
+			for (final Map.Entry<String, HolidaySet> entry : holidaySets.entrySet()) {
+				if (!entry.getValue().instances(date).isEmpty()) {
+					expected.add(entry.getKey());
+				}
+			}
+			assertThat(regionIndex.regionsWithHoliday(date)).as(date.toString()).isEqualTo(expected);
+		}
+	}
+}
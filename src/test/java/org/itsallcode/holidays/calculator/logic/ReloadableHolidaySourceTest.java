@@ -0,0 +1,155 @@
+package org.itsallcode.holidays.calculator.logic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.itsallcode.holidays.calculator.logic.cache.CacheStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReloadableHolidaySourceTest {
+
+	private static final LocalDate NEW_YEAR = LocalDate.of(2024, 1, 1);
+	private static final LocalDate BANK_HOLIDAY = LocalDate.of(2024, 5, 8);
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void getBeforeLoading() {
+		final ReloadableHolidaySource source = new ReloadableHolidaySource(tempDir.resolve("holidays.cfg"));
+		assertThrows(IllegalStateException.class, source::get);
+	}
+
+	@Test
+	void noFiles() {
+		final List<Path> files = List.of();
+		assertThrows(IllegalArgumentException.class, () -> new ReloadableHolidaySource(files));
+	}
+
+	@Test
+	void reloadReplacesHolidaySet() throws IOException {
+		final Path file = write("holidays.cfg", "holiday fixed 1 1 New Year\n");
+		final ReloadableHolidaySource source = new ReloadableHolidaySource(file);
+		source.reload();
+		final HolidaySet before = source.get();
+		assertThat(before.instances(BANK_HOLIDAY)).isEmpty();
+
+		write("holidays.cfg", "holiday fixed 1 1 New Year\nholiday fixed 5 8 Bank Holiday\n");
+		source.reload();
+		assertThat(source.get()).isNotSameAs(before);
+		assertThat(source.get().instances(BANK_HOLIDAY)).hasSize(1);
+		assertThat(before.instances(BANK_HOLIDAY)).isEmpty();
+	}
+
+	@Test
+	void failedReloadKeepsHolidaySet() throws IOException {
+		final Path file = write("holidays.cfg", "holiday fixed 1 1 New Year\n");
+		final ReloadableHolidaySource source = new ReloadableHolidaySource(file);
+		source.reload();
+		final HolidaySet before = source.get();
+
+		Files.delete(file);
+		assertThrows(NoSuchFileException.class, source::reload);
+		assertThat(source.get()).isSameAs(before);
+	}
+
+	@Test
+	void multipleFilesAndErrors() throws IOException {
+		final Path a = write("a.cfg", "holiday fixed 1 1 New Year\n");
+		final Path b = write("b.cfg", "illegal\nholiday fixed 5 8 Bank Holiday\n");
+		final ReloadableHolidaySource source = new ReloadableHolidaySource(a, b);
+		source.reload();
+		assertThat(source.get().instances(NEW_YEAR)).hasSize(1);
+		assertThat(source.get().instances(BANK_HOLIDAY)).hasSize(1);
+		assertThat(source.getErrors()).containsOnlyKeys(b.toAbsolutePath().normalize());
+	}
+
+	@Test
+	void prewarmedYears() throws IOException {
+		final Path file = write("holidays.cfg", "holiday fixed 1 1 New Year\n");
+		final ReloadableHolidaySource source = new ReloadableHolidaySource(file).withPrewarmedYears(2);
+		source.reload();
+		final int year = Year.now().getValue();
+		source.get().instances(LocalDate.of(year - 2, 1, 1));
+		source.get().instances(LocalDate.of(year + 2, 1, 1));
+		final CacheStatistics statistics = source.get().getCacheStatistics();
+		assertThat(statistics.getHits()).isEqualTo(2);
+		assertThat(statistics.getMisses()).isZero();
+	}
+
+	@Test
+	void negativePrewarmedYears() {
+		final ReloadableHolidaySource source = new ReloadableHolidaySource(tempDir.resolve("holidays.cfg"));
+		assertThrows(IllegalArgumentException.class, () -> source.withPrewarmedYears(-1));
+	}
+
+	@Test
+	void watchReloadsChangedFile() throws IOException, InterruptedException {
+		final Path file = write("holidays.cfg", "holiday fixed 1 1 New Year\n");
+		final BlockingQueue<HolidaySet> reloads = new LinkedBlockingQueue<>();
+		try (ReloadableHolidaySource source = new ReloadableHolidaySource(file).withListener(reloads::add)) {
+			source.start();
+			assertThat(reloads.take().instances(BANK_HOLIDAY)).isEmpty();
+
+			write("other.cfg", "holiday fixed 5 8 Bank Holiday\n");
+			// replace atomically like editors do, so the file is never seen partially written
+			Files.move(write("holidays.tmp", "holiday fixed 1 1 New Year\nholiday fixed 5 8 Bank Holiday\n"), file,
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			final HolidaySet reloaded = reloads.poll(30, TimeUnit.SECONDS);
+			assertThat(reloaded).isNotNull();
+			assertThat(reloaded.instances(BANK_HOLIDAY)).hasSize(1);
+			assertThat(source.get()).isSameAs(reloaded);
+		}
+	}
+
+	@Test
+	void reloadAfterCloseKeepsHolidaySet() throws IOException {
+		final Path file = write("holidays.cfg", "holiday fixed 1 1 New Year\n");
+		final List<HolidaySet> reloads = new ArrayList<>();
+		final ReloadableHolidaySource source = new ReloadableHolidaySource(file).withListener(reloads::add);
+		source.reload();
+		final HolidaySet before = source.get();
+		source.close();
+
+		write("holidays.cfg", "holiday fixed 1 1 New Year\nholiday fixed 5 8 Bank Holiday\n");
+		source.reload();
+		assertThat(source.get()).isSameAs(before);
+		assertThat(reloads).containsExactly(before);
+		assertThrows(IllegalStateException.class, source::start);
+	}
+
+	@Test
+	void closeStopsWatcher() throws IOException {
+		final Path file = write("holidays.cfg", "holiday fixed 1 1 New Year\n");
+		final ReloadableHolidaySource source = new ReloadableHolidaySource(file).start();
+		assertThat(watcherThreads()).isNotEmpty();
+		source.close();
+		assertThat(watcherThreads()).isEmpty();
+	}
+
+	private static List<Thread> watcherThreads() {
+		return Thread.getAllStackTraces().keySet().stream()
+				.filter(thread -> thread.getName().equals("holiday-reload-holidays.cfg"))
+				.filter(Thread::isAlive)
+				.toList();
+	}
+
+	private Path write(final String name, final String content) throws IOException {
+		return Files.write(tempDir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,181 @@
+package org.itsallcode.holidays.calculator.logic.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedYearCacheTest {
+
+	private final List<Integer> loaded = new ArrayList<>();
+
+	@Test
+	void leastRecentlyUsedYearIsEvicted() {
+		final YearCache<Integer> cache = new YearCacheBuilder().withMaximumSize(2).build();
+		get(cache, 2020);
+		get(cache, 2021);
+		get(cache, 2020);
+		get(cache, 2022);
+
+		assertThat(cache.size()).isEqualTo(2);
+		get(cache, 2020);
+		get(cache, 2021);
+		assertThat(loaded).containsExactly(2020, 2021, 2022, 2021);
+	}
+
+	@Test
+	void leastFrequentlyUsedYearIsEvicted() {
+		final YearCache<Integer> cache = new YearCacheBuilder()
+				.withMaximumSize(2)
+				.withEvictionPolicy(EvictionPolicy.LFU)
+				.build();
+		get(cache, 2020);
+		get(cache, 2020);
+		get(cache, 2020);
+		get(cache, 2021);
+		get(cache, 2021);
+		get(cache, 2020);
+		get(cache, 2022);
+
+		get(cache, 2020);
+		get(cache, 2021);
+		assertThat(loaded).containsExactly(2020, 2021, 2022, 2021);
+	}
+
+	@Test
+	void pinnedYearsAreNeverEvicted() {
+		final Clock clock = Clock.fixed(Instant.parse("2021-06-01T00:00:00Z"), ZoneOffset.UTC);
+		final YearCache<Integer> cache = new YearCacheBuilder()
+				.withMaximumSize(1)
+				.withPinnedWindow(1)
+				.withClock(clock)
+				.build();
+		for (int year = 2020; year <= 2022; year++) {
+			get(cache, year);
+		}
+		get(cache, 2030);
+		get(cache, 2031);
+
+		assertThat(cache.size()).isEqualTo(4);
+		for (int year = 2020; year <= 2022; year++) {
+			get(cache, year);
+		}
+		assertThat(loaded).containsExactly(2020, 2021, 2022, 2030, 2031);
+	}
+
+	@Test
+	void statistics() {
+		final YearCache<Integer> cache = new YearCacheBuilder().withMaximumSize(2).build();
+		get(cache, 2020);
+		get(cache, 2020);
+		get(cache, 2021);
+		get(cache, 2022);
+		get(cache, 2022);
+		get(cache, 2022);
+
+		final CacheStatistics statistics = cache.getStatistics();
+		assertThat(statistics.getHits()).isEqualTo(3L);
+		assertThat(statistics.getMisses()).isEqualTo(3L);
+		assertThat(statistics.getEvictions()).isEqualTo(1L);
+		assertThat(statistics).hasToString("CacheStatistics(hits: 3, misses: 3, evictions: 1)");
+	}
+
+	@Test
+	void containsDoesNotAffectStatistics() {
+		final YearCache<Integer> cache = new YearCacheBuilder().withMaximumSize(2).build();
+		get(cache, 2020);
+		assertThat(cache.contains(2020)).isTrue();
+		assertThat(cache.contains(2021)).isFalse();
+		assertThat(cache.getStatistics().getHits()).isZero();
+		assertThat(cache.getStatistics().getMisses()).isEqualTo(1L);
+		assertThat(new YearCacheBuilder().build().contains(2020)).isFalse();
+		assertThat(new YearCacheBuilder().concurrent().build().contains(2020)).isFalse();
+	}
+
+	@Test
+	void illegalMaximumSize() {
+		final YearCacheBuilder builder = new YearCacheBuilder();
+		assertThrows(IllegalArgumentException.class, () -> builder.withMaximumSize(0));
+		assertThrows(IllegalArgumentException.class, () -> builder.withPinnedWindow(-1));
+	}
+
+	@Test
+	void boundedUnderContention() throws Exception {
+		final YearCache<Integer> cache = new YearCacheBuilder().withMaximumSize(10).build();
+		final AtomicInteger invocations = new AtomicInteger();
+		final int threads = 8;
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					final ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int j = 0; j < 10_000; j++) {
+						final int year = 1900 + random.nextInt(400);
+						assertThat(cache.get(year, y -> {
+							invocations.incrementAndGet();
+							return y;
+						})).isEqualTo(year);
+					}
+				}));
+			}
+			for (final Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		final CacheStatistics statistics = cache.getStatistics();
+		assertThat(cache.size()).isLessThanOrEqualTo(10);
+		assertThat(statistics.getHits() + statistics.getMisses()).isEqualTo(80_000L);
+		assertThat(statistics.getMisses()).isEqualTo((long) invocations.get());
+		assertThat(statistics.getEvictions()).isEqualTo(statistics.getMisses() - cache.size());
+	}
+
+	@Test
+	void putYearIsNotLoaded() {
+		final YearCache<Integer> cache = new YearCacheBuilder().withMaximumSize(2).build();
+		cache.put(2020, 2020);
+		cache.put(2021, 2021);
+		get(cache, 2020);
+		get(cache, 2021);
+		assertThat(loaded).isEmpty();
+		assertThat(cache.getStatistics().getMisses()).isEqualTo(0L);
+	}
+
+	@Test
+	void putEvictsYears() {
+		final YearCache<Integer> cache = new YearCacheBuilder().withMaximumSize(2).build();
+		for (int year = 2020; year <= 2023; year++) {
+			cache.put(year, year);
+		}
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.getStatistics().getEvictions()).isEqualTo(2L);
+		get(cache, 2023);
+		get(cache, 2020);
+		assertThat(loaded).containsExactly(2020);
+	}
+
+	@Test
+	void putKeepsCachedYear() {
+		final YearCache<Integer> cache = new YearCacheBuilder().withMaximumSize(2).build();
+		get(cache, 2020);
+		cache.put(2020, 0);
+		get(cache, 2020);
+		assertThat(loaded).containsExactly(2020);
+	}
+
+	private void get(final YearCache<Integer> cache, final int year) {
+		assertThat(cache.get(year, y -> {
+			loaded.add(y);
+			return y;
+		})).isEqualTo(year);
+	}
+}
@@ -0,0 +1,106 @@
+package org.itsallcode.holidays.calculator.logic.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.itsallcode.holidays.calculator.logic.ConcurrentTasks.runConcurrently;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentYearCacheTest {
+
+	@Test
+	void singleFlightPerYear() throws Exception {
+		final YearCache<Object> cache = new YearCacheBuilder().concurrent().build();
+		final AtomicInteger invocations = new AtomicInteger();
+
+		final List<Object> results = runConcurrently(() -> cache.get(2021, year -> {
+			invocations.incrementAndGet();
+			sleep(50);
+			return new Object();
+		}));
+
+		assertThat(invocations.get()).isEqualTo(1);
+		for (final Object result : results) {
+			assertThat(result).isSameAs(results.get(0));
+		}
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void differentYearsAreComputedInParallel() throws Exception {
+		final YearCache<Integer> cache = new YearCacheBuilder().concurrent().build();
+		final CountDownLatch otherYearStarted = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Future<Integer> first = executor.submit(() -> cache.get(2021, year -> {
+				// blocks forever if the cache serializes the computation of different years
+				await(otherYearStarted);
+				return year;
+			}));
+			final Future<Integer> second = executor.submit(() -> cache.get(2022, year -> {
+				otherYearStarted.countDown();
+				return year;
+			}));
+			assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(2021);
+			assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(2022);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void failedComputationIsRetried() {
+		final YearCache<String> cache = new YearCacheBuilder().concurrent().build();
+		assertThrows(IllegalArgumentException.class, () -> cache.get(2021, year -> {
+			throw new IllegalArgumentException("failure");
+		}));
+		assertThat(cache.size()).isZero();
+		assertThat(cache.get(2021, year -> "success")).isEqualTo("success");
+	}
+
+	@Test
+	void manyYearsUnderContention() throws Exception {
+		final YearCache<Integer> cache = new YearCacheBuilder().concurrent().build();
+		final AtomicInteger[] invocations = new AtomicInteger[100];
+		for (int i = 0; i < invocations.length; i++) {
+			invocations[i] = new AtomicInteger();
+		}
+
+		runConcurrently(() -> {
+			final ThreadLocalRandom random = ThreadLocalRandom.current();
+			for (int i = 0; i < 10_000; i++) {
+				final int year = 2000 + random.nextInt(invocations.length);
+				final int value = cache.get(year, y -> {
+					invocations[y - 2000].incrementAndGet();
+					return y;
+				});
+				assertThat(value).isEqualTo(year);
+			}
+			return null;
+		});
+
+		for (final AtomicInteger count : invocations) {
+			assertThat(count.get()).isEqualTo(1);
+		}
+	}
+
+	private static void sleep(final long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void await(final CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
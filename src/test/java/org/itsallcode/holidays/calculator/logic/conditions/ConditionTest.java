@@ -1,8 +1,14 @@
 package org.itsallcode.holidays.calculator.logic.conditions;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.*;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
 
@@ -16,4 +22,39 @@ class ConditionTest {
 		)).verify();
 
 	}
+
+	@ParameterizedTest
+	@CsvSource({ "12, 26", "2, 29", "2, 28", "1, 1", "7, 4" })
+	void dayOfWeekConditionMatchesJavaTime(final int month, final int day) {
+		final MonthDay pivot = MonthDay.of(month, day);
+		final Condition condition = new DayOfWeekCondition(pivot, DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+		final Condition negated = Condition.not(condition);
+		for (int year = -1000; year <= 5000; year++) {
+			final DayOfWeek dayOfWeek = Year.of(year).atMonthDay(pivot).getDayOfWeek();
+			final boolean expected = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+			assertThat(condition.applies(year)).as("%s in %d", pivot, year).isEqualTo(expected);
+			assertThat(condition.applies(Year.of(year))).isEqualTo(expected);
+			assertThat(negated.applies(year)).isEqualTo(!expected);
+		}
+	}
+
+	@Test
+	void dayOfWeekConditionWithLatePivotDate() {
+		final Condition condition = new DayOfWeekCondition(DayOfWeek.MONDAY);
+		assertThrows(IllegalStateException.class, () -> condition.applies(2021));
+		final Condition withPivot = condition.withPivotDate(MonthDay.of(12, 27));
+		assertThat(withPivot.applies(2021)).isTrue();
+		assertThat(withPivot.applies(2022)).isFalse();
+		assertThat(withPivot.withPivotDate(MonthDay.of(1, 1))).isSameAs(withPivot);
+		assertThrows(IllegalStateException.class, () -> condition.applies(2021));
+		assertThat(condition).isNotEqualTo(withPivot);
+	}
+
+	@Test
+	void daysOfWeek() {
+		final DayOfWeekCondition condition = new DayOfWeekCondition(MonthDay.of(1, 1), DayOfWeek.SUNDAY,
+				DayOfWeek.MONDAY);
+		assertThat(condition.getDaysOfWeek()).containsExactly(DayOfWeek.MONDAY, DayOfWeek.SUNDAY);
+		assertThat(condition).hasToString("if JAN 1 is Mon,Sun");
+	}
 }